@@ -151,6 +151,12 @@ public class TFConfig {
 		@Config.RequiresWorldRestart
 		public boolean enableSkylight = true;
 
+		@Config.LangKey(config + "terrain_pregen_threads")
+		@Config.RangeInt(min = 0, max = 16)
+		@Config.Comment("Number of background threads that work out the terrain noise for Twilight Forest chunks players are about to reach, so the server thread has less to do when they are generated. 0 does it all on the server thread.")
+		@Config.RequiresMcRestart
+		public int terrainPregenThreads = 2;
+
 		@Config.Ignore
 		public boolean shadersSupported = true;
 	}
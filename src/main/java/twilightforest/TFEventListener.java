@@ -44,6 +44,7 @@ import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.BlockEvent.BreakEvent;
 import net.minecraftforge.event.world.BlockEvent.HarvestDropsEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.Mod;
@@ -83,6 +84,7 @@ import twilightforest.potions.TFPotions;
 import twilightforest.util.TFItemStackUtils;
 import twilightforest.world.ChunkGeneratorTFBase;
 import twilightforest.world.TFWorld;
+import twilightforest.world.TFWorldEventListener;
 import twilightforest.world.WorldProviderTwilightForest;
 
 import java.util.HashMap;
@@ -695,13 +697,30 @@ public class TFEventListener {
 	}
 
 	/**
-	 * When world is loaded, check if the game rule is defined
+	 * When world is loaded, check if the game rule is defined, and start listening to its block changes
 	 */
 	@SubscribeEvent
 	public static void worldLoaded(WorldEvent.Load event) {
-		if (!event.getWorld().isRemote && !event.getWorld().getGameRules().hasRule(TwilightForestMod.ENFORCED_PROGRESSION_RULE)) {
-			TwilightForestMod.LOGGER.info("Loaded a world with the {} game rule not defined. Defining it.", TwilightForestMod.ENFORCED_PROGRESSION_RULE);
-			event.getWorld().getGameRules().addGameRule(TwilightForestMod.ENFORCED_PROGRESSION_RULE, String.valueOf(TFConfig.progressionRuleDefault), GameRules.ValueType.BOOLEAN_VALUE);
+		if (!event.getWorld().isRemote) {
+			if (!event.getWorld().getGameRules().hasRule(TwilightForestMod.ENFORCED_PROGRESSION_RULE)) {
+				TwilightForestMod.LOGGER.info("Loaded a world with the {} game rule not defined. Defining it.", TwilightForestMod.ENFORCED_PROGRESSION_RULE);
+				event.getWorld().getGameRules().addGameRule(TwilightForestMod.ENFORCED_PROGRESSION_RULE, String.valueOf(TFConfig.progressionRuleDefault), GameRules.ValueType.BOOLEAN_VALUE);
+			}
+
+			TFWorldEventListener.register(event.getWorld());
+		}
+	}
+
+	@SubscribeEvent
+	public static void worldUnloaded(WorldEvent.Unload event) {
+		TFWorldEventListener.unregister(event.getWorld());
+	}
+
+	@SubscribeEvent
+	public static void chunkUnloaded(ChunkEvent.Unload event) {
+		TFWorldEventListener listener = TFWorldEventListener.get(event.getWorld());
+		if (listener != null) {
+			listener.oreCensus.onChunkUnloaded(event.getChunk().x, event.getChunk().z);
 		}
 	}
 
@@ -27,8 +27,8 @@ import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.Biome.SpawnListEntry;
-import net.minecraft.world.gen.MapGenBase;
 import net.minecraft.world.gen.structure.MapGenStructureIO;
+import twilightforest.advancements.TFProgression;
 import twilightforest.biomes.TFBiomes;
 import twilightforest.entity.*;
 import twilightforest.structures.*;
@@ -44,9 +44,9 @@ import twilightforest.structures.stronghold.TFStrongholdPieces;
 import twilightforest.structures.trollcave.TFTrollCavePieces;
 import twilightforest.world.MapGenTFMajorFeature;
 import twilightforest.world.TFBiomeProvider;
+import twilightforest.world.TFFeatureCache;
 import twilightforest.world.TFWorld;
 
-import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -432,7 +432,7 @@ public enum TFFeature {
 	private List<List<SpawnListEntry>> spawnableMonsterLists;
 	private List<SpawnListEntry> ambientCreatureList;
 	private List<SpawnListEntry> waterCreatureList;
-	private final ResourceLocation[] requiredAdvancements;
+	private final TFProgression.Requirement requiredAdvancements;
 	public boolean hasProtectionAura;
 
 	private MapGenTFMajorFeature featureGenerator;
@@ -460,7 +460,7 @@ public enum TFFeature {
 
 		ambientCreatureList.add(new SpawnListEntry(EntityBat.class, 10, 8, 8));
 
-		this.requiredAdvancements = requiredAdvancements;
+		this.requiredAdvancements = TFProgression.getRequirement(requiredAdvancements);
 
 		shouldHaveFeatureGenerator = featureGenerator;
 	}
@@ -513,6 +513,27 @@ public enum TFFeature {
 		return chunkX == (cc.getX() >> 4) && chunkZ == (cc.getZ() >> 4);
 	}
 
+	private static boolean isFeatureCenterChunk(TFFeatureCache.Entry region, int chunkX, int chunkZ) {
+		return chunkX == region.centerChunkX && chunkZ == region.centerChunkZ;
+	}
+
+	/**
+	 * @return The feature region containing the specified chunk, from the world's feature cache if it has one
+	 */
+	private static TFFeatureCache.Entry getRegionEntry(int chunkX, int chunkZ, World world) {
+		return getRegion((chunkX + 8) >> 4, (chunkZ + 8) >> 4, world);
+	}
+
+	/**
+	 * @return The feature region with the specified region coordinates, from the world's feature cache if it has one
+	 */
+	public static TFFeatureCache.Entry getRegion(int regionX, int regionZ, World world) {
+		if (world.getBiomeProvider() instanceof TFBiomeProvider) {
+			return ((TFBiomeProvider) world.getBiomeProvider()).getFeatureCache().getEntry(regionX, regionZ);
+		}
+		return TFFeatureCache.compute(regionX, regionZ, world);
+	}
+
 	/**
 	 * Turns on biome-specific decorations like grass and trees near this feature.
 	 */
@@ -578,8 +599,11 @@ public enum TFFeature {
 	 * @return The type of feature directly at the specified Chunk coordinates
 	 */
 	public static TFFeature getFeatureDirectlyAt(int chunkX, int chunkZ, World world) {
-		if (world.getBiomeProvider() instanceof TFBiomeProvider && isInFeatureChunk(world, chunkX << 4, chunkZ << 4))
-			return getFeatureAt(chunkX << 4, chunkZ << 4, world);
+		if (world.getBiomeProvider() instanceof TFBiomeProvider) {
+			TFFeatureCache.Entry region = getRegionEntry(chunkX, chunkZ, world);
+			if (isFeatureCenterChunk(region, chunkX, chunkZ))
+				return region.feature;
+		}
 
 		return NOTHING;
 	}
@@ -588,16 +612,24 @@ public enum TFFeature {
 	 * What feature would go in this chunk.  Called when we know there is a feature, but there is no cache data,
 	 * either generating this chunk for the first time, or using the magic map to forecast beyond the edge of the world.
 	 */
-	@SuppressWarnings("ConstantConditions")
 	public static TFFeature generateFeature(int chunkX, int chunkZ, World world) {
+		return getRegionEntry(chunkX, chunkZ, world).feature;
+	}
+
+	/**
+	 * Works out the feature for a 16x16 chunk region from scratch. Use {@link #generateFeature} instead,
+	 * which remembers the answer per world.
+	 */
+	@SuppressWarnings("ConstantConditions")
+	public static TFFeature computeFeatureForRegion(int regionX, int regionZ, World world) {
 		// FIXME Remove block comment start-marker to enable debug
 		/*if (true) {
 			return NAGA_COURTYARD;
 		}//*/
 
 		// set the chunkX and chunkZ to the center of the biome
-		chunkX = Math.round(chunkX / 16F) * 16;
-		chunkZ = Math.round(chunkZ / 16F) * 16;
+		int chunkX = regionX * 16;
+		int chunkZ = regionZ * 16;
 
 		// what biome is at the center of the chunk?
 		Biome biomeAt = world.getBiome(new BlockPos((chunkX << 4) + 8, 0, (chunkZ << 4) + 8));
@@ -712,89 +744,18 @@ public enum TFFeature {
 		return NOTHING;
 	}
 
-	// [Vanilla Copy] from MapGenStructure#findNearestStructurePosBySpacing; changed 2nd param to be TFFeature instead of MapGenStructure
-	@Nullable
-	public static BlockPos findNearestFeaturePosBySpacing(World worldIn, TFFeature feature, BlockPos blockPos, int p_191069_3_, int p_191069_4_, int p_191069_5_, boolean p_191069_6_, int p_191069_7_, boolean findUnexplored) {
-		int i = blockPos.getX() >> 4;
-		int j = blockPos.getZ() >> 4;
-		int k = 0;
-
-		for (Random random = new Random(); k <= p_191069_7_; ++k) {
-			for (int l = -k; l <= k; ++l) {
-				boolean flag = l == -k || l == k;
-
-				for (int i1 = -k; i1 <= k; ++i1) {
-					boolean flag1 = i1 == -k || i1 == k;
-
-					if (flag || flag1) {
-						int j1 = i + p_191069_3_ * l;
-						int k1 = j + p_191069_3_ * i1;
-
-						if (j1 < 0) {
-							j1 -= p_191069_3_ - 1;
-						}
-
-						if (k1 < 0) {
-							k1 -= p_191069_3_ - 1;
-						}
-
-						int l1 = j1 / p_191069_3_;
-						int i2 = k1 / p_191069_3_;
-						Random random1 = worldIn.setRandomSeed(l1, i2, p_191069_5_);
-						l1 = l1 * p_191069_3_;
-						i2 = i2 * p_191069_3_;
-
-						if (p_191069_6_) {
-							l1 = l1 + (random1.nextInt(p_191069_3_ - p_191069_4_) + random1.nextInt(p_191069_3_ - p_191069_4_)) / 2;
-							i2 = i2 + (random1.nextInt(p_191069_3_ - p_191069_4_) + random1.nextInt(p_191069_3_ - p_191069_4_)) / 2;
-						} else {
-							l1 = l1 + random1.nextInt(p_191069_3_ - p_191069_4_);
-							i2 = i2 + random1.nextInt(p_191069_3_ - p_191069_4_);
-						}
-
-						MapGenBase.setupChunkSeed(worldIn.getSeed(), random, l1, i2);
-						random.nextInt();
-
-						// Check changed for TFFeature
-						if (TFFeature.getFeatureAt(l1 << 4, i2 << 4, worldIn) == feature) {
-							if (!findUnexplored || !worldIn.isChunkGeneratedAt(l1, i2)) {
-								return new BlockPos((l1 << 4) + 8, 64, (i2 << 4) + 8);
-							}
-						} else if (k == 0) {
-							break;
-						}
-					}
-				}
-
-				if (k == 0) {
-					break;
-				}
-			}
-		}
-
-		return null;
-	}
-
 	/**
 	 * @return The feature in the chunk "region"
 	 */
 	public static TFFeature getFeatureForRegion(int chunkX, int chunkZ, World world) {
-		//just round to the nearest multiple of 16 chunks?
-		int featureX = Math.round(chunkX / 16F) * 16;
-		int featureZ = Math.round(chunkZ / 16F) * 16;
-
-		return TFFeature.generateFeature(featureX, featureZ, world);
+		return getRegionEntry(chunkX, chunkZ, world).feature;
 	}
 
 	/**
 	 * @return The feature in the chunk "region"
 	 */
 	public static TFFeature getFeatureForRegionPos(int posX, int posZ, World world) {
-		//just round to the nearest multiple of 16 chunks?
-		int featureX = Math.round((posX >> 4) / 16F) * 16;
-		int featureZ = Math.round((posZ >> 4) / 16F) * 16;
-
-		return TFFeature.generateFeature(featureX, featureZ, world);
+		return getRegionEntry(posX >> 4, posZ >> 4, world).feature;
 	}
 
 	/**
@@ -823,10 +784,14 @@ public enum TFFeature {
 	 * Maybe in the future we'll have to actually search for a feature chunk nearby, but for now this will work.
 	 */
 	public static BlockPos getNearestCenterXYZ(int cx, int cz, World world) {
-		// generate random number for the whole biome area
-		int regionX = (cx + 8) >> 4;
-		int regionZ = (cz + 8) >> 4;
+		return getRegionCenter((cx + 8) >> 4, (cz + 8) >> 4);
+	}
 
+	/**
+	 * @return The center of the feature in the specified 16x16 chunk region
+	 */
+	public static BlockPos getRegionCenter(int regionX, int regionZ) {
+		// generate random number for the whole biome area
 		long seed = (long) (regionX * 3129871) ^ (long) regionZ * 116129781L;
 		seed = seed * seed * 42317861L + seed * 7L;
 
@@ -887,12 +852,7 @@ public enum TFFeature {
 	}
 
 	public boolean doesPlayerHaveRequiredAdvancements(EntityPlayer player) {
-		if (this.requiredAdvancements.length > 0)
-			for (ResourceLocation advancement : requiredAdvancements)
-				if (!TwilightForestMod.proxy.doesPlayerHaveAdvancement(player, advancement))
-					return false;
-
-		return true; // no required achievement
+		return requiredAdvancements.isMetBy(player);
 	}
 
 	/**
@@ -22,6 +22,10 @@ import java.util.Set;
 public class TFMagicMapData extends MapData {
 	public final Set<TFMapDecoration> tfDecorations = new HashSet<>();
 
+	// pixel the map was last drawn around, not saved
+	public int lastViewerX = Integer.MIN_VALUE;
+	public int lastViewerZ = Integer.MIN_VALUE;
+
 	public TFMagicMapData(String name) {
 		super(name);
 	}
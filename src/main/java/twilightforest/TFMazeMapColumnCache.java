@@ -0,0 +1,75 @@
+package twilightforest;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.Arrays;
+
+/**
+ * Remembers what maze maps worked out for each block column, per chunk and per map height, so that maps held in the
+ * same area don't keep searching the same blocks. A column is forgotten as soon as a block it looked at changes.
+ */
+public class TFMazeMapColumnCache {
+
+	public static final int UNRESOLVED = -1;
+
+	/**
+	 * How far up and down from the map height a column looks
+	 */
+	public static final int YSEARCH = 3;
+
+	private static final int MAX_CHUNKS = 4096;
+
+	private final Int2ObjectMap<Long2ObjectMap<int[]>> layers = new Int2ObjectOpenHashMap<>();
+	private int chunkCount;
+
+	/**
+	 * @return The 16x16 resolved columns of the chunk at the map height, filled with {@link #UNRESOLVED} at first
+	 */
+	public int[] getColumns(int chunkX, int chunkZ, int yCenter) {
+		Long2ObjectMap<int[]> layer = layers.get(yCenter);
+		if (layer == null) {
+			layer = new Long2ObjectOpenHashMap<>();
+			layers.put(yCenter, layer);
+		}
+
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		int[] columns = layer.get(key);
+		if (columns == null) {
+			if (chunkCount >= MAX_CHUNKS) {
+				layers.clear();
+				chunkCount = 0;
+				layers.put(yCenter, layer = new Long2ObjectOpenHashMap<>());
+			}
+			columns = new int[256];
+			Arrays.fill(columns, UNRESOLVED);
+			layer.put(key, columns);
+			chunkCount++;
+		}
+		return columns;
+	}
+
+	public static int getColumnIndex(int x, int z) {
+		return (x & 15) | (z & 15) << 4;
+	}
+
+	public void onBlockChanged(BlockPos pos) {
+		if (layers.isEmpty()) {
+			return;
+		}
+
+		long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		for (Int2ObjectMap.Entry<Long2ObjectMap<int[]>> layer : layers.int2ObjectEntrySet()) {
+			if (Math.abs(pos.getY() - layer.getIntKey()) <= YSEARCH) {
+				int[] columns = layer.getValue().get(key);
+				if (columns != null) {
+					columns[getColumnIndex(pos.getX(), pos.getZ())] = UNRESOLVED;
+				}
+			}
+		}
+	}
+}
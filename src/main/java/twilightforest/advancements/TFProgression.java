@@ -0,0 +1,184 @@
+package twilightforest.advancements;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.entity.player.AdvancementEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import twilightforest.TwilightForestMod;
+import twilightforest.network.PacketProgression;
+import twilightforest.network.TFPacketHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of which of the progression advancements each player has, as one bit per advancement, so that the
+ * biome and structure checks are bit tests rather than advancement lookups. The server works it out when a player
+ * logs in or gets an advancement and sends it to that player, and the client keeps a copy for its own player.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public class TFProgression {
+
+	private static final ResourceLocation[] PROGRESSION = {
+			new ResourceLocation(TwilightForestMod.ID, "progress_naga"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_lich"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_labyrinth"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_hydra"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_trophy_pedestal"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_knights"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_ur_ghast"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_yeti"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_glacier"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_merge"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_troll"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_thorns"),
+			new ResourceLocation(TwilightForestMod.ID, "progress_castle")
+	};
+
+	/**
+	 * How often the server works the bits out again from scratch, to pick up advancements taken away by commands
+	 */
+	private static final int REFRESH_INTERVAL = 200;
+
+	private static final Map<UUID, Long> SERVER_BITS = new HashMap<>();
+
+	private static UUID clientPlayer;
+	private static long clientBits;
+
+	private TFProgression() {}
+
+	/**
+	 * The advancements a check needs, as bits plus any that aren't progression advancements and so have to be
+	 * looked up the slow way
+	 */
+	public static final class Requirement {
+		public static final Requirement NONE = new Requirement(0, new ResourceLocation[0]);
+
+		private final long bits;
+		private final ResourceLocation[] others;
+
+		private Requirement(long bits, ResourceLocation[] others) {
+			this.bits = bits;
+			this.others = others;
+		}
+
+		public boolean isMetBy(EntityPlayer player) {
+			if (bits != 0 && (getBits(player) & bits) != bits) {
+				return false;
+			}
+			for (ResourceLocation advancement : others) {
+				if (!TwilightForestMod.proxy.doesPlayerHaveAdvancement(player, advancement)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	public static Requirement getRequirement(ResourceLocation... advancements) {
+		if (advancements.length == 0) {
+			return Requirement.NONE;
+		}
+
+		long bits = 0;
+		List<ResourceLocation> others = new ArrayList<>(0);
+		for (ResourceLocation advancement : advancements) {
+			int index = Arrays.asList(PROGRESSION).indexOf(advancement);
+			if (index >= 0) {
+				bits |= 1L << index;
+			} else {
+				others.add(advancement);
+			}
+		}
+		return new Requirement(bits, others.toArray(new ResourceLocation[0]));
+	}
+
+	/**
+	 * @return The progression advancements the player has. On the client this is only known for the client's own player.
+	 */
+	public static long getBits(EntityPlayer player) {
+		if (player instanceof FakePlayer) {
+			// fake players never log out, so don't keep anything for them
+			return computeBits(player);
+		}
+		if (player instanceof EntityPlayerMP) {
+			Long bits = SERVER_BITS.get(player.getUniqueID());
+			if (bits == null) {
+				bits = computeBits(player);
+				SERVER_BITS.put(player.getUniqueID(), bits);
+			}
+			return bits;
+		}
+		if (player.world.isRemote && player.getUniqueID().equals(clientPlayer)) {
+			return clientBits;
+		}
+		return 0;
+	}
+
+	/**
+	 * Called on the client when the server sends the client's player's progression
+	 */
+	public static void setClientBits(UUID player, long bits) {
+		clientPlayer = player;
+		clientBits = bits;
+	}
+
+	private static long computeBits(EntityPlayer player) {
+		long bits = 0;
+		for (int i = 0; i < PROGRESSION.length; i++) {
+			if (TwilightForestMod.proxy.doesPlayerHaveAdvancement(player, PROGRESSION[i])) {
+				bits |= 1L << i;
+			}
+		}
+		return bits;
+	}
+
+	private static void update(EntityPlayerMP player, boolean forceSend) {
+		// there's no client on the other end of a fake player to tell
+		if (player instanceof FakePlayer) {
+			return;
+		}
+
+		long bits = computeBits(player);
+		Long oldBits = SERVER_BITS.put(player.getUniqueID(), bits);
+		if (forceSend || oldBits == null || oldBits != bits) {
+			TFPacketHandler.CHANNEL.sendTo(new PacketProgression(bits), player);
+		}
+	}
+
+	@SubscribeEvent
+	public static void playerLogsIn(PlayerLoggedInEvent event) {
+		if (event.player instanceof EntityPlayerMP) {
+			update((EntityPlayerMP) event.player, true);
+		}
+	}
+
+	@SubscribeEvent
+	public static void playerLogsOut(PlayerLoggedOutEvent event) {
+		SERVER_BITS.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public static void onAdvancementGet(AdvancementEvent event) {
+		if (event.getEntityPlayer() instanceof EntityPlayerMP && !(event.getEntityPlayer() instanceof FakePlayer) && Arrays.asList(PROGRESSION).contains(event.getAdvancement().getId())) {
+			update((EntityPlayerMP) event.getEntityPlayer(), false);
+		}
+	}
+
+	@SubscribeEvent
+	public static void playerTick(TickEvent.PlayerTickEvent event) {
+		if (event.phase == TickEvent.Phase.END && event.player instanceof EntityPlayerMP && event.player.ticksExisted % REFRESH_INTERVAL == 0) {
+			update((EntityPlayerMP) event.player, false);
+		}
+	}
+}
@@ -27,7 +27,7 @@ import net.minecraft.world.gen.feature.WorldGenBigTree;
 import net.minecraft.world.gen.feature.WorldGenBirchTree;
 import net.minecraft.world.gen.feature.WorldGenTallGrass;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import twilightforest.TwilightForestMod;
+import twilightforest.advancements.TFProgression;
 import twilightforest.entity.EntityTFKobold;
 import twilightforest.entity.passive.EntityTFMobileFirefly;
 import twilightforest.world.ChunkGeneratorTFBase;
@@ -44,6 +44,8 @@ public class TFBiomeBase extends Biome {
 	protected final WorldGenBirchTree birchGen;
 	protected final List<SpawnListEntry> undergroundMonsterList;
 
+	private TFProgression.Requirement requiredAdvancements;
+
 	public TFBiomeBase(BiomeProperties props) {
 		super(props);
 
@@ -221,12 +223,10 @@ public class TFBiomeBase extends Biome {
 	 * Does the player have the achievement needed to be in this biome?
 	 */
 	public boolean doesPlayerHaveRequiredAchievement(EntityPlayer player) {
-		for (ResourceLocation advancementLocation : getRequiredAdvancements()) {
-			if (!TwilightForestMod.proxy.doesPlayerHaveAdvancement(player, advancementLocation)) {
-				return false;
-			}
+		if (requiredAdvancements == null) {
+			requiredAdvancements = TFProgression.getRequirement(getRequiredAdvancements());
 		}
-		return true;
+		return requiredAdvancements.isMetBy(player);
 	}
 
 	protected ResourceLocation[] getRequiredAdvancements() {
@@ -1,5 +1,6 @@
 package twilightforest.block;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.properties.IProperty;
@@ -14,10 +15,31 @@ import net.minecraft.world.IBlockAccess;
 import twilightforest.client.ModelRegisterCallback;
 import twilightforest.item.TFItems;
 
+import java.awt.Color;
+import java.util.Arrays;
+
 public class BlockTFAuroraBrick extends Block implements ModelRegisterCallback {
 
 	public static final IProperty<Integer> VARIANT = PropertyInteger.create("variant", 0, 15);
 
+	private static final int MAX_CACHED_SECTIONS = 64;
+
+	/**
+	 * Variants and colours already worked out for the blocks of recently seen chunk sections. Sections are rebuilt on
+	 * several render threads at once, so each thread keeps its own.
+	 */
+	private static final ThreadLocal<Long2ObjectLinkedOpenHashMap<SectionNoise>> SECTION_NOISE = ThreadLocal.withInitial(Long2ObjectLinkedOpenHashMap::new);
+
+	private static class SectionNoise {
+		// -1 and 0 can't be real results, as colours are always opaque
+		private final byte[] variants = new byte[4096];
+		private final int[] colors = new int[4096];
+
+		private SectionNoise() {
+			Arrays.fill(variants, (byte) -1);
+		}
+	}
+
 	public BlockTFAuroraBrick() {
 		super(Material.PACKED_ICE);
 
@@ -44,10 +66,53 @@ public class BlockTFAuroraBrick extends Block implements ModelRegisterCallback {
 		return Math.abs(((getFractalNoise(iterations, size, pos) * frequency) % (2 * i)) - i) + minimum;
 	}
 
+	private static SectionNoise getSectionNoise(BlockPos pos) {
+		Long2ObjectLinkedOpenHashMap<SectionNoise> sections = SECTION_NOISE.get();
+		long key = ((long) (pos.getX() >> 4) & 0x3FFFFF) << 42 | ((long) (pos.getY() >> 4) & 0xFFFFF) << 22 | ((long) (pos.getZ() >> 4) & 0x3FFFFF);
+
+		SectionNoise noise = sections.getAndMoveToFirst(key);
+		if (noise == null) {
+			if (sections.size() >= MAX_CACHED_SECTIONS) {
+				sections.removeLast();
+			}
+			noise = new SectionNoise();
+			sections.putAndMoveToFirst(key, noise);
+		}
+		return noise;
+	}
+
+	private static int getIndex(BlockPos pos) {
+		return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+	}
+
+	/**
+	 * @return The variant the brick at this position shows, which depends on nothing but the position
+	 */
+	public static int getVariant(BlockPos pos) {
+		SectionNoise noise = getSectionNoise(pos);
+		int index = getIndex(pos);
+		if (noise.variants[index] < 0) {
+			noise.variants[index] = (byte) (((int) ((fractalNoise(3, 48.0f, pos) * 120.0f) % 16.0f)) % 16);
+		}
+		return noise.variants[index];
+	}
+
+	/**
+	 * @return The tint of an aurora block placed at this position
+	 */
+	public static int getColor(BlockPos pos) {
+		SectionNoise noise = getSectionNoise(pos);
+		int index = getIndex(pos);
+		if (noise.colors[index] == 0) {
+			noise.colors[index] = Color.HSBtoRGB(rippleFractialNoise(2, 128.0f, pos.up(128), 0.37f, 0.67f, 1.5f), 1.0f, 1.0f);
+		}
+		return noise.colors[index];
+	}
+
 	@Override
 	@Deprecated
 	public IBlockState getActualState(IBlockState state, IBlockAccess world, BlockPos pos) {
-		return getDefaultState().withProperty(VARIANT, ((int) ((fractalNoise(3, 48.0f, pos) * 120.0f) % 16.0f)) % 16);
+		return getDefaultState().withProperty(VARIANT, getVariant(pos));
 	}
 
 	@Override
@@ -1,34 +1,25 @@
 package twilightforest.block;
 
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockChest;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.SoundEvents;
-import net.minecraft.inventory.IInventory;
-import net.minecraft.inventory.InventoryLargeChest;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
-import twilightforest.network.TFPacketHandler;
 import twilightforest.biomes.TFBiomes;
 import twilightforest.item.ItemTFOreMagnet;
 import twilightforest.item.TFItems;
-import twilightforest.network.PacketChangeBiome;
 import twilightforest.util.WorldUtil;
+import twilightforest.world.TFBiomeChanges;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 public class BlockTFMagicLogSpecial extends BlockTFMagicLog {
@@ -47,6 +38,12 @@ public class BlockTFMagicLogSpecial extends BlockTFMagicLog {
 		world.scheduleUpdate(pos, this, this.tickRate(world));
 	}
 
+	@Override
+	public void breakBlock(World world, BlockPos pos, IBlockState state) {
+		SortingTreeInventories.remove(world, pos);
+		super.breakBlock(world, pos, state);
+	}
+
 	@Override
 	public Item getItemDropped(IBlockState state, Random random, int fortune) {
 		return Item.getItemFromBlock(TFBlocks.magic_log);
@@ -141,22 +138,11 @@ public class BlockTFMagicLogSpecial extends BlockTFMagicLog {
 			Chunk chunkAt = world.getChunk(dPos);
 			chunkAt.getBiomeArray()[(dPos.getZ() & 15) << 4 | (dPos.getX() & 15)] = (byte) Biome.getIdForBiome(targetBiome);
 
-			if (world instanceof WorldServer) {
-				sendChangedBiome(world, dPos, targetBiome);
-			}
+			TFBiomeChanges.markChanged(world, dPos);
 			break;
 		}
 	}
 
-	/**
-	 * Send a tiny update packet to the client to inform it of the changed biome
-	 */
-	private void sendChangedBiome(World world, BlockPos pos, Biome biome) {
-		IMessage message = new PacketChangeBiome(pos, biome);
-		NetworkRegistry.TargetPoint targetPoint = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 128);
-		TFPacketHandler.CHANNEL.sendToAllTracking(message, targetPoint);
-	}
-
 	/**
 	 * The miner's tree generates the ore magnet effect randomly every second
 	 */
@@ -174,168 +160,10 @@ public class BlockTFMagicLogSpecial extends BlockTFMagicLog {
 	}
 
 	/**
-	 * The sorting tree finds two chests nearby and then attempts to sort a random item.
+	 * The sorting tree looks at the chests nearby and attempts to sort a few random items.
 	 */
 	private void doSortingTreeEffect(World world, BlockPos pos, Random rand) {
-
-		// find all the chests nearby
-		List<IInventory> chests = new ArrayList<>();
-		int itemCount = 0;
-
-		for (BlockPos iterPos : WorldUtil.getAllAround(pos, 16)) {
-
-			IInventory chestInventory = null, teInventory = null;
-
-			Block block = world.getBlockState(iterPos).getBlock();
-			if (block instanceof BlockChest) {
-				chestInventory = ((BlockChest) block).getContainer(world, iterPos, true);
-			}
-
-			TileEntity te = world.getTileEntity(iterPos);
-			if (te instanceof IInventory && !te.isInvalid()) {
-				teInventory = (IInventory) te;
-			}
-
-			// make sure we haven't counted this chest
-			if (chestInventory != null && teInventory != null && !checkIfChestsContains(chests, teInventory)) {
-
-				boolean empty = true;
-				// count items
-				for (int i = 0; i < chestInventory.getSizeInventory(); i++) {
-					if (!chestInventory.getStackInSlot(i).isEmpty()) {
-						empty = false;
-						itemCount++;
-					}
-				}
-
-				// only add non-empty chests
-				if (!empty) {
-					chests.add(chestInventory);
-				}
-			}
-		}
-
-		//TwilightForestMod.LOGGER.info("Found " + chests.size() + " non-empty chests, containing " + itemCount + " items");
-
-		// find a random item in one of the chests
-		ItemStack beingSorted = ItemStack.EMPTY;
-		int sortedChestNum = -1;
-		int sortedSlotNum = -1;
-
-		if (itemCount == 0) return;
-
-		int itemNumber = rand.nextInt(itemCount);
-		int currentNumber = 0;
-
-		for (int i = 0; i < chests.size(); i++) {
-			IInventory chest = chests.get(i);
-			for (int slotNum = 0; slotNum < chest.getSizeInventory(); slotNum++) {
-				ItemStack currentItem = chest.getStackInSlot(slotNum);
-
-				if (!currentItem.isEmpty()) {
-					if (currentNumber++ == itemNumber) {
-						beingSorted = currentItem;
-						sortedChestNum = i;
-						sortedSlotNum = slotNum;
-					}
-				}
-			}
-		}
-
-		//TwilightForestMod.LOGGER.info("Decided to sort item " + beingSorted);
-
-		if (beingSorted.isEmpty()) return;
-
-		int matchChestNum = -1;
-		int matchCount = 0;
-
-		// decide where to put it, if anywhere
-		for (int chestNum = 0; chestNum < chests.size(); chestNum++) {
-			IInventory chest = chests.get(chestNum);
-			int currentChestMatches = 0;
-
-			for (int slotNum = 0; slotNum < chest.getSizeInventory(); slotNum++) {
-
-				ItemStack currentItem = chest.getStackInSlot(slotNum);
-				if (!currentItem.isEmpty() && isSortingMatch(beingSorted, currentItem)) {
-					currentChestMatches += currentItem.getCount();
-				}
-			}
-
-			if (currentChestMatches > matchCount) {
-				matchCount = currentChestMatches;
-				matchChestNum = chestNum;
-			}
-		}
-
-		// soooo, did we find a better match?
-		if (matchChestNum >= 0 && matchChestNum != sortedChestNum) {
-			IInventory moveChest = chests.get(matchChestNum);
-			IInventory oldChest = chests.get(sortedChestNum);
-
-			// is there an empty inventory slot in the new chest?
-			int moveSlot = getEmptySlotIn(moveChest);
-
-			if (moveSlot >= 0) {
-				// remove old item
-				oldChest.setInventorySlotContents(sortedSlotNum, ItemStack.EMPTY);
-
-				// add new item
-				moveChest.setInventorySlotContents(moveSlot, beingSorted);
-
-				//TwilightForestMod.LOGGER.info("Moved sorted item " + beingSorted + " to chest " + matchChestNum + ", slot " + moveSlot);
-			}
-		}
-
-		// if the stack is not full, combine items from other stacks
-		if (beingSorted.getCount() < beingSorted.getMaxStackSize()) {
-			for (IInventory chest : chests) {
-				for (int slotNum = 0; slotNum < chest.getSizeInventory(); slotNum++) {
-					ItemStack currentItem = chest.getStackInSlot(slotNum);
-
-					if (!currentItem.isEmpty() && currentItem != beingSorted && beingSorted.isItemEqual(currentItem)) {
-						if (currentItem.getCount() <= (beingSorted.getMaxStackSize() - beingSorted.getCount())) {
-							chest.setInventorySlotContents(slotNum, ItemStack.EMPTY);
-							beingSorted.grow(currentItem.getCount());
-							currentItem.setCount(0);
-						}
-					}
-				}
-			}
-		}
-	}
-
-	private boolean isSortingMatch(ItemStack beingSorted, ItemStack currentItem) {
-		return beingSorted.getItem().getCreativeTab() == currentItem.getItem().getCreativeTab();
-	}
-
-	/**
-	 * Is the chest we're testing part of our chest list already?
-	 */
-	private boolean checkIfChestsContains(List<IInventory> chests, IInventory testChest) {
-		for (IInventory chest : chests) {
-			if (chest == testChest) {
-				return true;
-			}
-
-			if (chest instanceof InventoryLargeChest && ((InventoryLargeChest) chest).isPartOfLargeChest(testChest)) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * @return an empty slot number in the chest, or -1 if the chest is full
-	 */
-	private int getEmptySlotIn(IInventory chest) {
-		for (int i = 0; i < chest.getSizeInventory(); i++) {
-			if (chest.getStackInSlot(i).isEmpty()) {
-				return i;
-			}
-		}
-
-		return -1;
+		SortingTreeInventories.get(world, pos).sort(world, rand);
 	}
 
 	@Override
@@ -7,12 +7,12 @@ import net.minecraft.item.ItemBlock;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.ColorizerFoliage;
 import net.minecraft.world.ColorizerGrass;
-import net.minecraft.world.biome.BiomeColorHelper;
 import net.minecraftforge.client.event.ColorHandlerEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import twilightforest.TwilightForestMod;
+import twilightforest.client.TFFoliageColorCache;
 import twilightforest.compat.TFCompat;
 import twilightforest.compat.ie.ItemTFShaderGrabbag;
 import twilightforest.enums.Leaves3Variant;
@@ -27,12 +27,15 @@ import java.awt.Color;
 @Mod.EventBusSubscriber(modid = TwilightForestMod.ID, value = Side.CLIENT)
 public final class ColorHandler {
 
+	private static final int AURORA_ITEM_COLOR = Color.HSBtoRGB(0.45F, 1.0f, 1.0f);
+	private static final int AURORA_ORIGIN_COLOR = Color.HSBtoRGB(BlockTFAuroraBrick.rippleFractialNoise(2, 128.0f, BlockPos.ORIGIN, 0.37f, 0.67f, 1.5f), 1.0f, 1.0f);
+
 	@SubscribeEvent
 	public static void registerBlockColors(ColorHandlerEvent.Block event) {
 
 		BlockColors blockColors = event.getBlockColors();
 
-		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> tintIndex > 15 ? 0xFFFFFF : Color.HSBtoRGB(worldIn == null ? 0.45F : BlockTFAuroraBrick.rippleFractialNoise(2, 128.0f, pos != null ? pos.up(128) : new BlockPos(0, 0, 0), 0.37f, 0.67f, 1.5f), 1.0f, 1.0f), TFBlocks.aurora_block);
+		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> tintIndex > 15 ? 0xFFFFFF : worldIn == null ? AURORA_ITEM_COLOR : pos == null ? AURORA_ORIGIN_COLOR : BlockTFAuroraBrick.getColor(pos), TFBlocks.aurora_block);
 		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> {
 			if (tintIndex > 15) return 0xFFFFFF;
 
@@ -53,20 +56,7 @@ public final class ColorHandler {
 				return ColorizerFoliage.getFoliageColorBasic();
 			}
 
-			int red = 0;
-			int grn = 0;
-			int blu = 0;
-
-			for (int dz = -1; dz <= 1; ++dz) {
-				for (int dx = -1; dx <= 1; ++dx) {
-					int i2 = worldIn.getBiome(pos.add(dx, 0, dz)).getFoliageColorAtPos(pos.add(dx, 0, dz));
-					red += (i2 & 16711680) >> 16;
-					grn += (i2 & 65280) >> 8;
-					blu += i2 & 255;
-				}
-			}
-
-			return (red / 9 & 255) << 16 | (grn / 9 & 255) << 8 | blu / 9 & 255;
+			return TFFoliageColorCache.getFoliageColor(worldIn, pos);
 		}, TFBlocks.dark_leaves, TFBlocks.giant_leaves);
 		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> tintIndex > 15 ? 0xFFFFFF : state.getValue(BlockTFFireJet.VARIANT).hasGrassColor ? blockColors.colorMultiplier(Blocks.GRASS.getDefaultState(), worldIn, pos, tintIndex) : 0xFFFFFF, TFBlocks.fire_jet);
 		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> worldIn != null && pos != null ? 2129968 : 7455580, TFBlocks.huge_lilypad);
@@ -171,20 +161,7 @@ public final class ColorHandler {
 						return 0x48B518;
 				}
 			} else {
-				int red = 0;
-				int green = 0;
-				int blue = 0;
-
-				for (int dz = -1; dz <= 1; ++dz) {
-					for (int dx = -1; dx <= 1; ++dx) {
-						int color = world.getBiome(pos.add(dx, 0, dz)).getFoliageColorAtPos(pos);
-						red += (color & 16711680) >> 16;
-						green += (color & 65280) >> 8;
-						blue += color & 255;
-					}
-				}
-
-				int normalColor = (red / 9 & 0xFF) << 16 | (green / 9 & 0xFF) << 8 | blue / 9 & 0xFF;
+				int normalColor = TFFoliageColorCache.getFoliageColorAtBlock(world, pos);
 
 				if (state.getValue(BlockTFLeaves.VARIANT) == LeavesVariant.CANOPY) {
 					// canopy colorizer
@@ -195,19 +172,19 @@ public final class ColorHandler {
 					return ((normalColor & 0xFEFEFE) + 0xC0E694) / 2;
 				} else if (state.getValue(BlockTFLeaves.VARIANT) == LeavesVariant.RAINBOAK) {
 					// RAINBOW!
-					red = pos.getX() * 32 + pos.getY() * 16;
+					int red = pos.getX() * 32 + pos.getY() * 16;
 					if ((red & 256) != 0) {
 						red = 255 - (red & 255);
 					}
 					red &= 255;
 
-					blue = pos.getY() * 32 + pos.getZ() * 16;
+					int blue = pos.getY() * 32 + pos.getZ() * 16;
 					if ((blue & 256) != 0) {
 						blue = 255 - (blue & 255);
 					}
 					blue ^= 255;
 
-					green = pos.getX() * 16 + pos.getZ() * 32;
+					int green = pos.getX() * 16 + pos.getZ() * 32;
 					if ((green & 256) != 0) {
 						green = 255 - (green & 255);
 					}
@@ -226,7 +203,7 @@ public final class ColorHandler {
 					: variant == Leaves3Variant.BEANSTALK ? ColorizerFoliage.getFoliageColorBirch()
 					: -1;
 		}, TFBlocks.twilight_leaves_3);
-		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> tintIndex != 0 ? 0xFFFFFF : state.getValue(BlockTFPlant.VARIANT).isGrassColored ? worldIn != null && pos != null ? BiomeColorHelper.getGrassColorAtPos(worldIn, pos) : ColorizerGrass.getGrassColor(0.5D, 1.0D) : 0xFFFFFF, TFBlocks.twilight_plant);
+		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> tintIndex != 0 ? 0xFFFFFF : state.getValue(BlockTFPlant.VARIANT).isGrassColored ? worldIn != null && pos != null ? TFFoliageColorCache.getGrassColor(worldIn, pos) : ColorizerGrass.getGrassColor(0.5D, 1.0D) : 0xFFFFFF, TFBlocks.twilight_plant);
 		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> ColorizerGrass.getGrassColor(0.5D, 1.0D), TFBlocks.miniature_structure);
 		blockColors.registerBlockColorHandler((state, worldIn, pos, tintIndex) -> {
 			if (tintIndex > 15) return 0xFFFFFF;
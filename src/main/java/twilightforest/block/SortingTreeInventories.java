@@ -0,0 +1,420 @@
+package twilightforest.block;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockChest;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.creativetab.CreativeTabs;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.InventoryLargeChest;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.wrapper.InvWrapper;
+import net.minecraftforge.oredict.OreDictionary;
+import org.apache.commons.lang3.ArrayUtils;
+import twilightforest.TwilightForestMod;
+import twilightforest.world.TFBlockWatchers;
+import twilightforest.world.TFWorldEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The chests around a sorting tree. They're found once when the tree first sorts, and after that only the blocks that
+ * change nearby are looked at again, instead of searching the whole area every second.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public final class SortingTreeInventories implements TFBlockWatchers.Watcher {
+
+	private static final int RANGE = 16;
+	private static final int MOVES_PER_UPDATE = 4;
+
+	private static final Map<World, Map<BlockPos, SortingTreeInventories>> TREES = new WeakHashMap<>();
+
+	private final StructureBoundingBox area;
+
+	private final Set<BlockPos> storagePositions = new LinkedHashSet<>();
+	private final Set<BlockPos> changedPositions = new LinkedHashSet<>();
+	private boolean discovered;
+	private boolean watching;
+
+	private SortingTreeInventories(BlockPos treePos) {
+		this.area = new StructureBoundingBox(treePos.add(-RANGE, -RANGE, -RANGE), treePos.add(RANGE, RANGE, RANGE));
+	}
+
+	static SortingTreeInventories get(World world, BlockPos treePos) {
+		return TREES.computeIfAbsent(world, w -> new HashMap<>()).computeIfAbsent(treePos.toImmutable(), SortingTreeInventories::new);
+	}
+
+	static void remove(World world, BlockPos treePos) {
+		Map<BlockPos, SortingTreeInventories> trees = TREES.get(world);
+		if (trees != null) {
+			SortingTreeInventories tree = trees.remove(treePos);
+			if (tree != null) {
+				tree.stopWatching(world);
+			}
+		}
+	}
+
+	/**
+	 * Forget the trees in a chunk that's unloading, they'll look for their chests again when it comes back
+	 */
+	@SubscribeEvent
+	public static void chunkUnload(ChunkEvent.Unload event) {
+		World world = event.getWorld();
+		Map<BlockPos, SortingTreeInventories> trees = TREES.get(world);
+		if (trees == null || trees.isEmpty()) {
+			return;
+		}
+
+		Chunk chunk = event.getChunk();
+		for (Iterator<Map.Entry<BlockPos, SortingTreeInventories>> it = trees.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<BlockPos, SortingTreeInventories> entry = it.next();
+			if (entry.getKey().getX() >> 4 == chunk.x && entry.getKey().getZ() >> 4 == chunk.z) {
+				entry.getValue().stopWatching(world);
+				it.remove();
+			}
+		}
+	}
+
+	private void stopWatching(World world) {
+		if (watching) {
+			TFWorldEventListener listener = TFWorldEventListener.get(world);
+			if (listener != null) {
+				listener.blockWatchers.remove(this);
+			}
+			watching = false;
+		}
+	}
+
+	@Override
+	public StructureBoundingBox getWatchedArea() {
+		return area;
+	}
+
+	@Override
+	public void onBlockChanged(BlockPos pos) {
+		changedPositions.add(pos.toImmutable());
+	}
+
+	/**
+	 * Sorts a few random items from the chests into the chests that hold the most items like them. With only one chest
+	 * around nothing moves between chests, but its partial stacks are still gathered up.
+	 */
+	void sort(World world, Random rand) {
+		List<IItemHandler> inventories = getInventories(world);
+		if (inventories.isEmpty()) {
+			return;
+		}
+
+		Contents contents = new Contents(inventories);
+		for (int i = 0; i < MOVES_PER_UPDATE && !contents.occupied.isEmpty(); i++) {
+			contents.sortOne(contents.occupied.getLong(rand.nextInt(contents.occupied.size())));
+		}
+	}
+
+	private List<IItemHandler> getInventories(World world) {
+		updatePositions(world);
+
+		List<IItemHandler> inventories = new ArrayList<>();
+		List<IInventory> chests = new ArrayList<>();
+
+		for (BlockPos pos : storagePositions) {
+			IBlockState state = world.getBlockState(pos);
+			Block block = state.getBlock();
+			TileEntity te = world.getTileEntity(pos);
+			if (te == null || te.isInvalid()) {
+				continue;
+			}
+
+			if (block instanceof BlockChest) {
+				IInventory chestInventory = ((BlockChest) block).getContainer(world, pos, true);
+				// make sure we haven't counted this chest, as both halves of a large chest give us the whole thing
+				if (chestInventory != null && te instanceof IInventory && !checkIfChestsContains(chests, (IInventory) te)) {
+					chests.add(chestInventory);
+					inventories.add(new InvWrapper(chestInventory));
+				}
+			} else {
+				IItemHandler handler = te.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null);
+				if (handler != null && !inventories.contains(handler)) {
+					inventories.add(handler);
+				}
+			}
+		}
+
+		return inventories;
+	}
+
+	private void updatePositions(World world) {
+		if (!watching) {
+			TFWorldEventListener listener = TFWorldEventListener.get(world);
+			if (listener != null) {
+				listener.blockWatchers.add(this);
+				watching = true;
+			} else {
+				// nobody will tell us about changes, so look again every time
+				discovered = false;
+			}
+		}
+
+		if (!discovered) {
+			storagePositions.clear();
+			changedPositions.clear();
+			// only blocks with tile entities can be storage, so look at those instead of every block in the area
+			for (int cx = area.minX >> 4; cx <= area.maxX >> 4; cx++) {
+				for (int cz = area.minZ >> 4; cz <= area.maxZ >> 4; cz++) {
+					Chunk chunk = world.getChunk(cx, cz);
+					for (BlockPos pos : chunk.getTileEntityMap().keySet()) {
+						if (area.isVecInside(pos) && isStorage(world, pos)) {
+							storagePositions.add(pos.toImmutable());
+						}
+					}
+				}
+			}
+			discovered = true;
+		} else if (!changedPositions.isEmpty()) {
+			for (BlockPos pos : changedPositions) {
+				if (isStorage(world, pos)) {
+					storagePositions.add(pos);
+				} else {
+					storagePositions.remove(pos);
+				}
+			}
+			changedPositions.clear();
+		}
+	}
+
+	private static boolean isStorage(World world, BlockPos pos) {
+		IBlockState state = world.getBlockState(pos);
+		Block block = state.getBlock();
+		if (!block.hasTileEntity(state)) {
+			return false;
+		}
+		if (block instanceof BlockChest) {
+			return true;
+		}
+		if (!isChestInOreDictionary(block)) {
+			return false;
+		}
+		TileEntity te = world.getTileEntity(pos);
+		return te != null && te.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null);
+	}
+
+	/**
+	 * Chests from other mods don't have to extend the vanilla one, but are registered to the ore dictionary as chests
+	 */
+	private static boolean isChestInOreDictionary(Block block) {
+		ItemStack stack = new ItemStack(block);
+		return !stack.isEmpty() && ArrayUtils.contains(OreDictionary.getOreIDs(stack), OreDictionary.getOreID("chest"));
+	}
+
+	/**
+	 * Is the chest we're testing part of our chest list already?
+	 */
+	private static boolean checkIfChestsContains(List<IInventory> chests, IInventory testChest) {
+		for (IInventory chest : chests) {
+			if (chest == testChest) {
+				return true;
+			}
+
+			if (chest instanceof InventoryLargeChest && ((InventoryLargeChest) chest).isPartOfLargeChest(testChest)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long slotRef(int inventory, int slot) {
+		return (long) inventory << 32 | slot & 0xFFFFFFFFL;
+	}
+
+	private static int inventoryOf(long ref) {
+		return (int) (ref >>> 32);
+	}
+
+	private static int slotOf(long ref) {
+		return (int) ref;
+	}
+
+	/**
+	 * What the inventories held when the update started, read in one pass and kept up to date by the moves made
+	 * during the update. Slots found here are always checked against the inventory again before anything is moved.
+	 */
+	private static final class Contents {
+
+		private final List<IItemHandler> inventories;
+		/**
+		 * Every slot that had something in it
+		 */
+		private final LongArrayList occupied = new LongArrayList();
+		/**
+		 * Slots by the item in them, for gathering up partial stacks
+		 */
+		private final Map<Item, LongArrayList> slotsByItem = new IdentityHashMap<>();
+		/**
+		 * How many items of each creative tab each inventory holds
+		 */
+		private final Map<CreativeTabs, int[]> tabCounts = new IdentityHashMap<>();
+		private final List<LongArrayList> emptySlots = new ArrayList<>();
+
+		Contents(List<IItemHandler> inventories) {
+			this.inventories = inventories;
+
+			for (int i = 0; i < inventories.size(); i++) {
+				IItemHandler inventory = inventories.get(i);
+				LongArrayList empty = new LongArrayList();
+
+				// reversed, so the empty slots are used from the start of the inventory
+				for (int slot = inventory.getSlots() - 1; slot >= 0; slot--) {
+					ItemStack stack = inventory.getStackInSlot(slot);
+					long ref = slotRef(i, slot);
+					if (stack.isEmpty()) {
+						empty.add(ref);
+					} else {
+						occupied.add(ref);
+						slotsByItem.computeIfAbsent(stack.getItem(), k -> new LongArrayList()).add(ref);
+						getTabCounts(stack)[i] += stack.getCount();
+					}
+				}
+
+				emptySlots.add(empty);
+			}
+		}
+
+		private int[] getTabCounts(ItemStack stack) {
+			return tabCounts.computeIfAbsent(stack.getItem().getCreativeTab(), k -> new int[inventories.size()]);
+		}
+
+		/**
+		 * @return An empty slot in the inventory, or -1 if it's full
+		 */
+		private int takeEmptySlot(int inventory) {
+			LongArrayList empty = emptySlots.get(inventory);
+			while (!empty.isEmpty()) {
+				int slot = slotOf(empty.removeLong(empty.size() - 1));
+				if (inventories.get(inventory).getStackInSlot(slot).isEmpty()) {
+					return slot;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Moves the item in the slot to the inventory with the most items from the same creative tab, then tops up
+		 * its stack from other stacks of the same item.
+		 */
+		void sortOne(long ref) {
+			int sortedInventory = inventoryOf(ref);
+			int sortedSlot = slotOf(ref);
+
+			ItemStack beingSorted = inventories.get(sortedInventory).getStackInSlot(sortedSlot);
+			if (beingSorted.isEmpty()) {
+				return;
+			}
+
+			int[] counts = getTabCounts(beingSorted);
+
+			// decide where to put it, if anywhere
+			int matchInventory = -1;
+			int matchCount = 0;
+			for (int i = 0; i < counts.length; i++) {
+				if (counts[i] > matchCount) {
+					matchCount = counts[i];
+					matchInventory = i;
+				}
+			}
+
+			// soooo, did we find a better match?
+			if (matchInventory >= 0 && matchInventory != sortedInventory) {
+				int moveSlot = takeEmptySlot(matchInventory);
+				if (moveSlot >= 0) {
+					// moving can empty out the very stack we're holding, so remember what it was first
+					Item item = beingSorted.getItem();
+					if (moveStack(sortedInventory, sortedSlot, matchInventory, moveSlot, beingSorted.getCount(), counts)) {
+						emptySlots.get(sortedInventory).add(ref);
+						sortedInventory = matchInventory;
+						sortedSlot = moveSlot;
+						ref = slotRef(sortedInventory, sortedSlot);
+						slotsByItem.computeIfAbsent(item, k -> new LongArrayList()).add(ref);
+					} else {
+						emptySlots.get(matchInventory).add(slotRef(matchInventory, moveSlot));
+					}
+				}
+			}
+
+			// if the stack is not full, combine items from other stacks
+			IItemHandler target = inventories.get(sortedInventory);
+			beingSorted = target.getStackInSlot(sortedSlot);
+			if (beingSorted.isEmpty() || beingSorted.getCount() >= beingSorted.getMaxStackSize()) {
+				return;
+			}
+
+			LongArrayList sameItem = slotsByItem.get(beingSorted.getItem());
+			if (sameItem == null) {
+				return;
+			}
+			for (int i = 0; i < sameItem.size(); i++) {
+				long otherRef = sameItem.getLong(i);
+				if (otherRef == ref) {
+					continue;
+				}
+
+				int otherInventory = inventoryOf(otherRef);
+				int otherSlot = slotOf(otherRef);
+				ItemStack currentItem = inventories.get(otherInventory).getStackInSlot(otherSlot);
+
+				if (!currentItem.isEmpty() && beingSorted.isItemEqual(currentItem)
+						&& currentItem.getCount() <= beingSorted.getMaxStackSize() - beingSorted.getCount()) {
+					// only whole stacks, and only when they really stack together
+					if (target.insertItem(sortedSlot, currentItem, true).isEmpty()
+							&& moveStack(otherInventory, otherSlot, sortedInventory, sortedSlot, currentItem.getCount(), counts)) {
+						emptySlots.get(otherInventory).add(otherRef);
+						beingSorted = target.getStackInSlot(sortedSlot);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return true if the whole stack left its slot
+		 */
+		private boolean moveStack(int fromInventory, int fromSlot, int toInventory, int toSlot, int count, int[] counts) {
+			IItemHandler from = inventories.get(fromInventory);
+			IItemHandler to = inventories.get(toInventory);
+
+			ItemStack extracted = from.extractItem(fromSlot, count, false);
+			if (extracted.isEmpty()) {
+				return false;
+			}
+
+			ItemStack leftover = to.insertItem(toSlot, extracted, false);
+			if (!leftover.isEmpty()) {
+				// put back whatever didn't fit
+				from.insertItem(fromSlot, leftover, false);
+			}
+
+			int moved = extracted.getCount() - leftover.getCount();
+			counts[fromInventory] -= moved;
+			counts[toInventory] += moved;
+			return from.getStackInSlot(fromSlot).isEmpty();
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package twilightforest.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.ChunkCache;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import twilightforest.TwilightForestMod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Foliage and grass colours blended over the 3x3 columns around each block, the same way
+ * {@link net.minecraft.world.biome.BiomeColorHelper} does it, remembered per chunk for the colour handlers. Twilight leaves
+ * blend their own way, asking each neighbouring biome for its colour at the leaves instead, so they get layers of
+ * their own.
+ * <p>
+ * Biome temperature only changes with height above y = {@value #TEMPERATURE_HEIGHT}, so every height up to there
+ * shares one layer of colours and the rest get a layer each, made the first time a block at that height is tinted.
+ * A chunk is forgotten along with its neighbours when it loads, unloads or has its biomes changed, since its border
+ * blends in their columns.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID, value = Side.CLIENT)
+public class TFFoliageColorCache {
+
+	private static final int TEMPERATURE_HEIGHT = 64;
+	private static final int LAYERS = 256 - TEMPERATURE_HEIGHT;
+
+	// chunks are rebuilt on several render threads at once
+	private static final Map<Long, ChunkColors> CHUNKS = new ConcurrentHashMap<>();
+
+	private enum Blend {
+		/**
+		 * Each column's foliage colour at that column
+		 */
+		FOLIAGE,
+		/**
+		 * Each column's grass colour at that column
+		 */
+		GRASS,
+		/**
+		 * Each column's biome's foliage colour at the block being tinted, as twilight leaves have always done
+		 */
+		FOLIAGE_AT_BLOCK
+	}
+
+	private static class ChunkColors {
+		private final AtomicReferenceArray<int[]>[] layers;
+		private volatile Biome[] biomes;
+
+		@SuppressWarnings("unchecked")
+		private ChunkColors() {
+			layers = new AtomicReferenceArray[Blend.values().length];
+			for (int i = 0; i < layers.length; i++) {
+				layers[i] = new AtomicReferenceArray<>(LAYERS);
+			}
+		}
+	}
+
+	public static int getFoliageColor(IBlockAccess world, BlockPos pos) {
+		return getColor(world, pos, Blend.FOLIAGE);
+	}
+
+	public static int getGrassColor(IBlockAccess world, BlockPos pos) {
+		return getColor(world, pos, Blend.GRASS);
+	}
+
+	/**
+	 * Like {@link #getFoliageColor}, but with the biome of each column around the block giving its colour for the
+	 * block's own position
+	 */
+	public static int getFoliageColorAtBlock(IBlockAccess world, BlockPos pos) {
+		return getColor(world, pos, Blend.FOLIAGE_AT_BLOCK);
+	}
+
+	private static int getColor(IBlockAccess world, BlockPos pos, Blend kind) {
+		// only the client world's own chunks are remembered, anything else is blended on the spot
+		if (!(world instanceof ChunkCache) && world != Minecraft.getMinecraft().world) {
+			return blend(world, pos.getX(), pos.getZ(), 1, pos.getY(), kind)[0];
+		}
+
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+		ChunkColors colors = CHUNKS.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new ChunkColors());
+
+		int layerY = Math.min(Math.max(pos.getY(), TEMPERATURE_HEIGHT), 255);
+		AtomicReferenceArray<int[]> layers = colors.layers[kind.ordinal()];
+		int[] layer = layers.get(layerY - TEMPERATURE_HEIGHT);
+		if (layer == null) {
+			layer = blend(getBiomes(world, colors, chunkX, chunkZ), chunkX << 4, chunkZ << 4, 16, layerY, kind);
+			layers.set(layerY - TEMPERATURE_HEIGHT, layer);
+		}
+
+		return layer[(pos.getZ() & 15) << 4 | (pos.getX() & 15)];
+	}
+
+	/**
+	 * @return The biomes of the chunk's columns and the ring of columns around it, 18 to a row
+	 */
+	private static Biome[] getBiomes(IBlockAccess world, ChunkColors colors, int chunkX, int chunkZ) {
+		Biome[] biomes = colors.biomes;
+		if (biomes == null) {
+			biomes = new Biome[18 * 18];
+			BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+			for (int z = 0; z < 18; z++) {
+				for (int x = 0; x < 18; x++) {
+					biomes[z * 18 + x] = world.getBiome(pos.setPos((chunkX << 4) + x - 1, 0, (chunkZ << 4) + z - 1));
+				}
+			}
+			colors.biomes = biomes;
+		}
+		return biomes;
+	}
+
+	/**
+	 * Blends an area of size by size columns, looking up the biomes around it first
+	 */
+	private static int[] blend(IBlockAccess world, int minX, int minZ, int size, int y, Blend kind) {
+		Biome[] biomes = new Biome[(size + 2) * (size + 2)];
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int z = 0; z < size + 2; z++) {
+			for (int x = 0; x < size + 2; x++) {
+				biomes[z * (size + 2) + x] = world.getBiome(pos.setPos(minX + x - 1, 0, minZ + z - 1));
+			}
+		}
+		return blend(biomes, minX, minZ, size, y, kind);
+	}
+
+	/**
+	 * Works out the colour of every column in the ring around the area, then averages each block's 3x3
+	 */
+	private static int[] blend(Biome[] biomes, int minX, int minZ, int size, int y, Blend kind) {
+		int width = size + 2;
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		int[] raw = null;
+		if (kind != Blend.FOLIAGE_AT_BLOCK) {
+			raw = new int[width * width];
+			for (int z = 0; z < width; z++) {
+				for (int x = 0; x < width; x++) {
+					Biome biome = biomes[z * width + x];
+					pos.setPos(minX + x - 1, y, minZ + z - 1);
+					raw[z * width + x] = kind == Blend.FOLIAGE ? biome.getFoliageColorAtPos(pos) : biome.getGrassColorAtPos(pos);
+				}
+			}
+		}
+
+		int[] blended = new int[size * size];
+		for (int z = 0; z < size; z++) {
+			for (int x = 0; x < size; x++) {
+				int red = 0;
+				int green = 0;
+				int blue = 0;
+
+				// neighbours nearly always share a biome, so only ask again when it changes
+				Biome lastBiome = null;
+				int lastColor = 0;
+				pos.setPos(minX + x, y, minZ + z);
+
+				for (int dz = 0; dz <= 2; dz++) {
+					for (int dx = 0; dx <= 2; dx++) {
+						int color;
+						if (raw != null) {
+							color = raw[(z + dz) * width + x + dx];
+						} else {
+							Biome biome = biomes[(z + dz) * width + x + dx];
+							if (biome != lastBiome) {
+								lastBiome = biome;
+								lastColor = biome.getFoliageColorAtPos(pos);
+							}
+							color = lastColor;
+						}
+						red += (color & 0xFF0000) >> 16;
+						green += (color & 0x00FF00) >> 8;
+						blue += color & 0x0000FF;
+					}
+				}
+
+				blended[z * size + x] = (red / 9 & 0xFF) << 16 | (green / 9 & 0xFF) << 8 | blue / 9 & 0xFF;
+			}
+		}
+		return blended;
+	}
+
+	/**
+	 * Forget the chunk's colours, and its neighbours' as their borders take in its columns
+	 */
+	public static void invalidate(int chunkX, int chunkZ) {
+		if (CHUNKS.isEmpty()) {
+			return;
+		}
+		for (int dx = -1; dx <= 1; dx++) {
+			for (int dz = -1; dz <= 1; dz++) {
+				CHUNKS.remove(ChunkPos.asLong(chunkX + dx, chunkZ + dz));
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void chunkLoad(ChunkEvent.Load event) {
+		if (event.getWorld().isRemote) {
+			invalidate(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public static void chunkUnload(ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			invalidate(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public static void worldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			CHUNKS.clear();
+		}
+	}
+}
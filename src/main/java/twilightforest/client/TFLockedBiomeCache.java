@@ -0,0 +1,149 @@
+package twilightforest.client;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import twilightforest.TwilightForestMod;
+import twilightforest.advancements.TFProgression;
+import twilightforest.biomes.TFBiomeBase;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers which columns of each loaded chunk are in a biome the client's player hasn't unlocked yet, so the weather
+ * renderer can tell whether one is nearby without looking up every biome around the camera each frame.
+ * <p>
+ * A chunk is worked out the first time it's asked about, and again after its biomes change or the player's
+ * progression does.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID, value = Side.CLIENT)
+public class TFLockedBiomeCache {
+
+	private static final long[] NOTHING_LOCKED = new long[0];
+
+	private static final Long2ObjectMap<long[]> LOCKED_COLUMNS = new Long2ObjectOpenHashMap<>();
+
+	private static long progression;
+
+	/**
+	 * @return True if any column within range blocks of x, z (inclusive, as a square) is in a locked biome
+	 */
+	public static boolean isNearLockedBiome(World world, EntityPlayer player, int x, int z, int range) {
+		long bits = TFProgression.getBits(player);
+		if (bits != progression) {
+			LOCKED_COLUMNS.clear();
+			progression = bits;
+		}
+
+		int minX = x - range, maxX = x + range;
+		int minZ = z - range, maxZ = z + range;
+
+		for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+			for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+				long[] locked = getLockedColumns(world, player, cx, cz);
+				if (locked == NOTHING_LOCKED) {
+					continue;
+				}
+
+				int x0 = Math.max(minX, cx << 4) & 15, x1 = Math.min(maxX, (cx << 4) + 15) & 15;
+				int z0 = Math.max(minZ, cz << 4) & 15, z1 = Math.min(maxZ, (cz << 4) + 15) & 15;
+				long row = ((1L << (x1 - x0 + 1)) - 1) << x0;
+
+				for (int dz = z0; dz <= z1; dz++) {
+					if ((locked[dz >> 2] >>> ((dz & 3) << 4) & row) != 0) {
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Forget what's known about a chunk whose biomes have changed
+	 */
+	public static void invalidate(int chunkX, int chunkZ) {
+		LOCKED_COLUMNS.remove(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	/**
+	 * @return One bit per column, 4 rows of 16 to a long, or NOTHING_LOCKED if there are none
+	 */
+	private static long[] getLockedColumns(World world, EntityPlayer player, int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		long[] locked = LOCKED_COLUMNS.get(key);
+		if (locked != null) {
+			return locked;
+		}
+
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+		if (chunk == null || chunk.isEmpty()) {
+			// don't remember anything about chunks that haven't arrived yet
+			return NOTHING_LOCKED;
+		}
+
+		Map<Biome, Boolean> lockedBiomes = new IdentityHashMap<>();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		locked = new long[4];
+		boolean any = false;
+
+		for (int column = 0; column < 256; column++) {
+			Biome biome = chunk.getBiome(pos.setPos((chunkX << 4) + (column & 15), 0, (chunkZ << 4) + (column >> 4)), world.getBiomeProvider());
+			if (!(biome instanceof TFBiomeBase)) {
+				continue;
+			}
+
+			Boolean isLocked = lockedBiomes.get(biome);
+			if (isLocked == null) {
+				isLocked = !((TFBiomeBase) biome).doesPlayerHaveRequiredAchievement(player);
+				lockedBiomes.put(biome, isLocked);
+			}
+
+			if (isLocked) {
+				locked[column >> 6] |= 1L << (column & 63);
+				any = true;
+			}
+		}
+
+		if (!any) {
+			locked = NOTHING_LOCKED;
+		}
+		LOCKED_COLUMNS.put(key, locked);
+		return locked;
+	}
+
+	@SubscribeEvent
+	public static void chunkLoad(ChunkEvent.Load event) {
+		if (event.getWorld().isRemote) {
+			invalidate(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public static void chunkUnload(ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			invalidate(event.getChunk().x, event.getChunk().z);
+		}
+	}
+
+	@SubscribeEvent
+	public static void worldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			LOCKED_COLUMNS.clear();
+		}
+	}
+}
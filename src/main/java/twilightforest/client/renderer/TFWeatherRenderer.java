@@ -25,6 +25,7 @@ import twilightforest.biomes.TFBiomeHighlands;
 import twilightforest.biomes.TFBiomeSnow;
 import twilightforest.biomes.TFBiomeSwamp;
 import twilightforest.biomes.TFBiomeThornlands;
+import twilightforest.client.TFLockedBiomeCache;
 
 import java.util.Random;
 
@@ -535,25 +536,15 @@ public class TFWeatherRenderer extends IRenderHandler {
 	}
 
 	private boolean isNearLockedBiome(World world, Entity viewEntity) {
-		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		if (!(viewEntity instanceof EntityPlayer)) {
+			return false;
+		}
+
 		int range = 15;
 		int px = MathHelper.floor(viewEntity.posX);
 		int pz = MathHelper.floor(viewEntity.posZ);
 
-		for (int z = pz - range; z <= pz + range; ++z) {
-			for (int x = px - range; x <= px + range; ++x) {
-				Biome biomegenbase = world.getBiome(pos.setPos(x, 0, z));
-				if (biomegenbase instanceof TFBiomeBase && viewEntity instanceof EntityPlayer) {
-					TFBiomeBase tfBiome = (TFBiomeBase) biomegenbase;
-					EntityPlayer player = (EntityPlayer) viewEntity;
-					if (!tfBiome.doesPlayerHaveRequiredAchievement(player)) {
-						return true;
-					}
-				}
-			}
-		}
-
-		return false;
+		return TFLockedBiomeCache.isNearLockedBiome(world, (EntityPlayer) viewEntity, px, pz, range);
 	}
 
 	private boolean isNearLockedStructure(World world, Entity viewEntity) {
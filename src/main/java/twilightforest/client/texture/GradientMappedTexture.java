@@ -2,17 +2,37 @@ package twilightforest.client.texture;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.util.ResourceLocation;
 import twilightforest.TwilightForestMod;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static net.minecraft.util.math.MathHelper.sqrt;
 
 public class GradientMappedTexture extends TextureAtlasSprite {
+    private static final int PARALLEL_PIXELS = 16384;
+    private static final int MAX_REMEMBERED = 1024;
+
+    /**
+     * Frames already mapped, by what they were mapped from, so reloading resources that didn't change a source texture
+     * doesn't map it all over again
+     */
+    private static final Map<MappingKey, int[][][]> MAPPED = new LinkedHashMap<MappingKey, int[][][]>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MappingKey, int[][][]> eldest) {
+            return size() > MAX_REMEMBERED;
+        }
+    };
+
     private final ResourceLocation textureDependency;
 
     private boolean shouldStretchMinimumMaximum;
@@ -75,25 +95,11 @@ public class GradientMappedTexture extends TextureAtlasSprite {
                 this.maximumValue = maximumValue / 255f;
             }
 
-            for (int i = 0; i < framesTextureData.size(); i++) {
-                int [][] texture = this.framesTextureData.get(i);
-
-                for (int j = 0; j < texture[0].length; j++) {
-                    texture[0][j] = getGradient(texture[0][j], GRADIENT_MAP, this.minimumValue, this.maximumValue);
-                }
-            }
+            mapFrames(this.framesTextureData, GRADIENT_MAP, this.minimumValue, this.maximumValue, false);
 
             TwilightForestMod.LOGGER.debug("Autogenerated " + this.getIconName() + " from " + this.textureDependency + " with min value of " + this.minimumValue + " and max value " + this.maximumValue);
         } else {
-            for (int i = 0; i < framesTextureData.size(); i++) {
-                int [][] texture = this.framesTextureData.get(i);
-
-                for (int l = 0; l < texture.length; l++) {
-                    for (int j = 0; j < texture[l].length; j++) {
-                        texture[l][j] = getGradient(texture[l][j], GRADIENT_MAP, 0.0f, 1.0f);
-                    }
-                }
-            }
+            mapFrames(this.framesTextureData, GRADIENT_MAP, 0.0f, 1.0f, true);
 
             TwilightForestMod.LOGGER.debug("Autogenerated " + this.getIconName() + " from " + this.textureDependency);
         }
@@ -106,6 +112,123 @@ public class GradientMappedTexture extends TextureAtlasSprite {
         return ImmutableList.of(textureDependency);
     }
 
+    /**
+     * Runs every pixel of the frames through the gradient, in place, for the first mip level or for all of them.
+     * Frames that were mapped the same way before are copied from then, and big textures are split up by frame
+     * over the fork/join pool.
+     */
+    static void mapFrames(List<int[][]> frames, GradientNode[] gradientMap, float minimumValue, float maximumValue, boolean allLevels) {
+        MappingKey key = new MappingKey(frames, gradientMap, minimumValue, maximumValue, allLevels);
+
+        int[][][] mapped;
+        synchronized (MAPPED) {
+            mapped = MAPPED.get(key);
+        }
+
+        if (mapped != null) {
+            // the atlas keeps the arrays it's given, so hand out copies
+            for (int i = 0; i < frames.size(); i++) {
+                frames.set(i, copyFrame(mapped[i]));
+            }
+            return;
+        }
+
+        int pixels = 0;
+        for (int[][] frame : frames) {
+            pixels += frame[0].length;
+        }
+
+        IntStream indices = IntStream.range(0, frames.size());
+        if (pixels >= PARALLEL_PIXELS) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> mapFrame(frames.get(i), gradientMap, minimumValue, maximumValue, allLevels));
+
+        mapped = new int[frames.size()][][];
+        for (int i = 0; i < frames.size(); i++) {
+            mapped[i] = copyFrame(frames.get(i));
+        }
+
+        synchronized (MAPPED) {
+            MAPPED.put(key, mapped);
+        }
+    }
+
+    private static void mapFrame(int[][] frame, GradientNode[] gradientMap, float minimumValue, float maximumValue, boolean allLevels) {
+        // textures only use a handful of colours, so each is only mapped once
+        Int2IntOpenHashMap colors = new Int2IntOpenHashMap();
+
+        for (int l = 0; l < (allLevels ? frame.length : 1); l++) {
+            if (frame[l] == null) continue;
+
+            for (int j = 0; j < frame[l].length; j++) {
+                int pixel = frame[l][j];
+                if (colors.containsKey(pixel)) {
+                    frame[l][j] = colors.get(pixel);
+                } else {
+                    frame[l][j] = getGradient(pixel, gradientMap, minimumValue, maximumValue);
+                    colors.put(pixel, frame[l][j]);
+                }
+            }
+        }
+    }
+
+    private static int[][] copyFrame(int[][] frame) {
+        int[][] copy = new int[frame.length][];
+        for (int l = 0; l < frame.length; l++) {
+            copy[l] = frame[l] == null ? null : frame[l].clone();
+        }
+        return copy;
+    }
+
+    private static final class MappingKey {
+        private final int[][][] frames;
+        private final float[] nodes;
+        private final int[] colors;
+        private final float minimumValue;
+        private final float maximumValue;
+        private final boolean allLevels;
+        private final int hash;
+
+        private MappingKey(List<int[][]> frames, GradientNode[] gradientMap, float minimumValue, float maximumValue, boolean allLevels) {
+            this.frames = new int[frames.size()][][];
+            for (int i = 0; i < frames.size(); i++) {
+                this.frames[i] = copyFrame(frames.get(i));
+            }
+
+            this.nodes = new float[gradientMap.length];
+            this.colors = new int[gradientMap.length];
+            for (int i = 0; i < gradientMap.length; i++) {
+                this.nodes[i] = gradientMap[i].node;
+                this.colors[i] = gradientMap[i].color;
+            }
+
+            this.minimumValue = minimumValue;
+            this.maximumValue = maximumValue;
+            this.allLevels = allLevels;
+            this.hash = Arrays.deepHashCode(this.frames) * 31 + Arrays.hashCode(nodes) * 17 + Arrays.hashCode(colors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MappingKey)) return false;
+            MappingKey other = (MappingKey) o;
+            return hash == other.hash
+                    && allLevels == other.allLevels
+                    && Float.compare(minimumValue, other.minimumValue) == 0
+                    && Float.compare(maximumValue, other.maximumValue) == 0
+                    && Arrays.equals(nodes, other.nodes)
+                    && Arrays.equals(colors, other.colors)
+                    && Arrays.deepEquals(frames, other.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     // borrowed from Shadows of Physis
     // Thanks TTFTCUTS! :)
     private static int getPerceptualBrightness(int col) {
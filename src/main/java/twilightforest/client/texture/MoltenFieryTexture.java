@@ -70,15 +70,7 @@ public class MoltenFieryTexture extends TextureAtlasSprite {
             this.maximumValue = maximumValue / 255f;
         }
 
-        for (int i = 0; i < framesTextureData.size(); i++) {
-            int [][] texture = this.framesTextureData.get(i);
-
-            for (int l = 0; l < texture.length; l++) {
-                for (int j = 0; j < texture[l].length; j++) {
-                    texture[l][j] = GradientMappedTexture.getGradient(texture[l][j], GRADIENT_MAP, this.minimumValue, this.maximumValue);
-                }
-            }
-        }
+        GradientMappedTexture.mapFrames(this.framesTextureData, GRADIENT_MAP, this.minimumValue, this.maximumValue, true);
 
         TwilightForestMod.LOGGER.debug("Autogenerated " + this.getIconName() + " from " + this.textureDependency);
 
@@ -112,6 +112,8 @@ public class FieryTConTexture extends GradientMappedTConTexture {
 
     @Override
     protected void preProcess(final int[] data) {
+        mappedColors.clear();
+
         edge = new boolean[width * height];
         translucent = new boolean[width * height];
         int c;
@@ -1,5 +1,6 @@
 package twilightforest.compat.tcon.texture;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.util.ResourceLocation;
@@ -9,6 +10,8 @@ import twilightforest.TwilightForestMod;
 import twilightforest.client.texture.GradientMappedTexture;
 import twilightforest.client.texture.GradientNode;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 import static net.minecraft.util.math.MathHelper.sqrt;
@@ -21,6 +24,11 @@ public class GradientMappedTConTexture extends AbstractColoredTexture {
     protected float minimumValue;
     protected float maximumValue;
 
+    /**
+     * Colours already mapped through each gradient for the current stretch, as textures only use a handful
+     */
+    protected final Map<GradientNode[], Int2IntOpenHashMap> mappedColors = new IdentityHashMap<>();
+
     GradientMappedTConTexture(ResourceLocation baseTextureLocation, String spriteName, boolean shouldStretchMinimumMaximum, GradientNode[] gradientMap) {
         super(baseTextureLocation, spriteName);
         this.shouldStretchMinimumMaximum = shouldStretchMinimumMaximum;
@@ -39,6 +47,8 @@ public class GradientMappedTConTexture extends AbstractColoredTexture {
 
     @Override
     protected void preProcess(final int[] data) {
+        mappedColors.clear();
+
         if (shouldStretchMinimumMaximum) {
             int minimumValue = 255;
             int maximumValue = 0;
@@ -65,6 +75,17 @@ public class GradientMappedTConTexture extends AbstractColoredTexture {
 
     @Override
     protected int colorPixel(int pixel, int pxCoord) {
+        Int2IntOpenHashMap colors = mappedColors.computeIfAbsent(gradientMap, map -> new Int2IntOpenHashMap());
+        if (colors.containsKey(pixel)) {
+            return colors.get(pixel);
+        }
+
+        int color = mapPixel(pixel);
+        colors.put(pixel, color);
+        return color;
+    }
+
+    private int mapPixel(int pixel) {
         int a = RenderUtil.alpha(pixel);
         if(a == 0) {
             return pixel;
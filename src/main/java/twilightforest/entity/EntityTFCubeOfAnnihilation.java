@@ -14,14 +14,10 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
-import twilightforest.network.TFPacketHandler;
 import twilightforest.block.BlockTFCastleMagic;
 import twilightforest.block.TFBlocks;
 import twilightforest.item.TFItems;
-import twilightforest.network.PacketAnnihilateBlock;
-import twilightforest.util.WorldUtil;
+import twilightforest.world.TFBlockDestruction;
 
 import java.util.List;
 
@@ -75,17 +71,12 @@ public class EntityTFCubeOfAnnihilation extends EntityThrowable {
 	}
 
 	private void affectBlocksInAABB(AxisAlignedBB box) {
-		for (BlockPos pos : WorldUtil.getAllInBB(box)) {
-			IBlockState state = world.getBlockState(pos);
-			if (!state.getBlock().isAir(state, world, pos)) {
-				if (canAnnihilate(pos, state)) {
-					this.world.setBlockToAir(pos);
-					this.playSound(SoundEvents.ENTITY_GENERIC_EXTINGUISH_FIRE, 0.125f, this.rand.nextFloat() * 0.25F + 0.75F);
-					this.sendAnnihilateBlockPacket(world, pos);
-				} else {
-					this.hasHitObstacle = true;
-				}
-			}
+		TFBlockDestruction destruction = new TFBlockDestruction(this).annihilate().add(box);
+		if (destruction.destroy((world, pos, state) -> canAnnihilate(pos, state)) > 0) {
+			this.playSound(SoundEvents.ENTITY_GENERIC_EXTINGUISH_FIRE, 0.125f, this.rand.nextFloat() * 0.25F + 0.75F);
+		}
+		if (destruction.wasBlocked()) {
+			this.hasHitObstacle = true;
 		}
 	}
 
@@ -100,15 +91,6 @@ public class EntityTFCubeOfAnnihilation extends EntityThrowable {
 	}
 
 
-	private void sendAnnihilateBlockPacket(World world, BlockPos pos) {
-		// send packet
-		IMessage message = new PacketAnnihilateBlock(pos);
-
-		NetworkRegistry.TargetPoint targetPoint = new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 64);
-
-		TFPacketHandler.CHANNEL.sendToAllAround(message, targetPoint);
-	}
-
 	@Override
 	public void onUpdate() {
 		super.onUpdate();
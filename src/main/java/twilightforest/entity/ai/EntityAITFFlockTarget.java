@@ -1,6 +1,7 @@
 package twilightforest.entity.ai;
 
 import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.ai.EntityAITarget;
 
@@ -9,7 +10,7 @@ import java.util.List;
 
 public class EntityAITFFlockTarget extends EntityAITarget {
 
-	private final EntityLivingBase flockCreature;
+	private final EntityCreature flockCreature;
 	private EntityLivingBase flockTarget;
 
 	public EntityAITFFlockTarget(EntityCreature creature, boolean checkSight) {
@@ -20,7 +21,7 @@ public class EntityAITFFlockTarget extends EntityAITarget {
 
 	@Override
 	public boolean shouldExecute() {
-		List<EntityLivingBase> flockList = this.flockCreature.world.getEntitiesWithinAABB(this.flockCreature.getClass(), this.flockCreature.getEntityBoundingBox().grow(16.0D, 4.0D, 16.0D));
+		List<EntityLiving> flockList = TFFlocks.getFlockmates(this.flockCreature, 16.0D, 4.0D, 16.0D);
 		List<EntityLivingBase> targetList = new ArrayList<EntityLivingBase>();
 
 		for (EntityLivingBase flocker : flockList) {
@@ -4,8 +4,6 @@ import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.List;
-
 public class EntityAITFFlockToSameKind extends EntityAIBase {
 	private static final double MAX_DIST = 256.0D;
 	private static final double MIN_DIST = 25.0D;
@@ -31,29 +29,12 @@ public class EntityAITFFlockToSameKind extends EntityAIBase {
 			return false;
 		}
 
-		List<EntityLiving> flockList = this.flockCreature.world.getEntitiesWithinAABB(this.flockCreature.getClass(), this.flockCreature.getEntityBoundingBox().grow(16.0D, 4.0D, 16.0D));
-
-		int flocknum = 0;
-		double flockX = 0;
-		double flockY = 0;
-		double flockZ = 0;
-
-		for (EntityLiving flocker : flockList) {
-			flocknum++;
-			flockX += flocker.posX;
-			flockY += flocker.posY;
-			flockZ += flocker.posZ;
-		}
-
-		flockX /= flocknum;
-		flockY /= flocknum;
-		flockZ /= flocknum;
-
+		Vec3d flockCenter = TFFlocks.getCentroid(this.flockCreature, 16.0D, 4.0D, 16.0D);
 
-		if (flockCreature.getDistanceSq(flockX, flockY, flockZ) < MIN_DIST) {
+		if (flockCreature.getDistanceSq(flockCenter.x, flockCenter.y, flockCenter.z) < MIN_DIST) {
 			return false;
 		} else {
-			this.flockPosition = new Vec3d(flockX, flockY, flockZ);
+			this.flockPosition = flockCenter;
 			return true;
 		}
 	}
@@ -1,14 +1,11 @@
 package twilightforest.entity.ai;
 
 import net.minecraft.entity.EntityCreature;
-import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.entity.ai.RandomPositionGenerator;
 import net.minecraft.util.math.Vec3d;
 import twilightforest.entity.EntityTFKobold;
 
-import java.util.List;
-
 public class EntityAITFPanicOnFlockDeath extends EntityAIBase {
 	private EntityCreature flockCreature;
 	private float speed;
@@ -27,16 +24,8 @@ public class EntityAITFPanicOnFlockDeath extends EntityAIBase {
 
 	@Override
 	public boolean shouldExecute() {
-		boolean yikes = fleeTimer > 0;
-
 		// check if any of us is dead within 4 squares
-		List<EntityCreature> flockList = this.flockCreature.world.getEntitiesWithinAABB(this.flockCreature.getClass(), this.flockCreature.getEntityBoundingBox().grow(4.0D, 2.0D, 4.0D));
-		for (EntityLiving flocker : flockList) {
-			if (flocker.deathTime > 0) {
-				yikes = true;
-				break;
-			}
-		}
+		boolean yikes = fleeTimer > 0 || TFFlocks.isFlockmateDying(this.flockCreature, 4.0D, 2.0D, 4.0D);
 
 		if (!yikes) {
 			return false;
@@ -0,0 +1,194 @@
+package twilightforest.entity.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import twilightforest.world.TFWorldEventListener;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the members of each kind of flocking creature in a world sorted into columns of 16 by 16 blocks, redone at most
+ * once a tick, so flocking tasks can find their flockmates from a few columns instead of each asking the world for
+ * every entity of their class around them.
+ * <p>
+ * A kind is tracked from the first time one of its members asks about its flock, after which the world listener keeps
+ * its members up to date as entities are added and removed.
+ */
+public class TFFlocks {
+
+	/**
+	 * How far an entity can have moved out of the column it was sorted into before the columns are redone
+	 */
+	private static final double MARGIN = 2.0D;
+
+	private final Map<Class<?>, Flock> flocks = new IdentityHashMap<>();
+
+	private static class Flock {
+		private final Class<?> kind;
+		private final Set<EntityLiving> members = new ReferenceOpenHashSet<>();
+		private final Long2ObjectMap<List<EntityLiving>> columns = new Long2ObjectOpenHashMap<>();
+		private final List<EntityLiving> dying = new ArrayList<>();
+		private long sortedAt = Long.MIN_VALUE;
+
+		private Flock(Class<?> kind) {
+			this.kind = kind;
+		}
+
+		private void sort(long time) {
+			if (sortedAt == time) {
+				return;
+			}
+			sortedAt = time;
+
+			columns.clear();
+			dying.clear();
+
+			for (EntityLiving member : members) {
+				long key = ChunkPos.asLong(MathHelper.floor(member.posX) >> 4, MathHelper.floor(member.posZ) >> 4);
+				List<EntityLiving> column = columns.get(key);
+				if (column == null) {
+					column = new ArrayList<>(4);
+					columns.put(key, column);
+				}
+				column.add(member);
+
+				if (member.deathTime > 0) {
+					dying.add(member);
+				}
+			}
+		}
+
+		private void collect(AxisAlignedBB box, List<EntityLiving> into) {
+			int minX = MathHelper.floor(box.minX - MARGIN) >> 4;
+			int maxX = MathHelper.floor(box.maxX + MARGIN) >> 4;
+			int minZ = MathHelper.floor(box.minZ - MARGIN) >> 4;
+			int maxZ = MathHelper.floor(box.maxZ + MARGIN) >> 4;
+
+			for (int cx = minX; cx <= maxX; cx++) {
+				for (int cz = minZ; cz <= maxZ; cz++) {
+					List<EntityLiving> column = columns.get(ChunkPos.asLong(cx, cz));
+					if (column == null) {
+						continue;
+					}
+					for (EntityLiving member : column) {
+						if (member.getEntityBoundingBox().intersects(box)) {
+							into.add(member);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The flock the creature belongs to, sorted for this tick, or null if the world has no flocks kept for it
+	 */
+	@Nullable
+	private static Flock getFlock(EntityLiving creature) {
+		TFWorldEventListener listener = TFWorldEventListener.get(creature.world);
+		if (listener == null) {
+			return null;
+		}
+
+		Map<Class<?>, Flock> flocks = listener.flocks.flocks;
+		Flock flock = flocks.get(creature.getClass());
+		if (flock == null) {
+			flock = new Flock(creature.getClass());
+			for (Entity entity : creature.world.loadedEntityList) {
+				if (flock.kind.isInstance(entity)) {
+					flock.members.add((EntityLiving) entity);
+				}
+			}
+			flocks.put(creature.getClass(), flock);
+		}
+
+		flock.sort(creature.world.getTotalWorldTime());
+		return flock;
+	}
+
+	/**
+	 * @return Every creature of the same class as this one whose box touches this one's grown by the given amounts,
+	 * including itself, same as world.getEntitiesWithinAABB would give
+	 */
+	public static List<EntityLiving> getFlockmates(EntityLiving creature, double x, double y, double z) {
+		AxisAlignedBB box = creature.getEntityBoundingBox().grow(x, y, z);
+		Flock flock = getFlock(creature);
+		if (flock == null) {
+			return new ArrayList<>(creature.world.getEntitiesWithinAABB(creature.getClass(), box));
+		}
+
+		List<EntityLiving> flockmates = new ArrayList<>();
+		flock.collect(box, flockmates);
+		return flockmates;
+	}
+
+	/**
+	 * @return The middle of the creature's flockmates, as found by {@link #getFlockmates}
+	 */
+	public static Vec3d getCentroid(EntityLiving creature, double x, double y, double z) {
+		List<EntityLiving> flockmates = getFlockmates(creature, x, y, z);
+		if (flockmates.isEmpty()) {
+			return creature.getPositionVector();
+		}
+
+		double flockX = 0;
+		double flockY = 0;
+		double flockZ = 0;
+
+		for (EntityLiving flocker : flockmates) {
+			flockX += flocker.posX;
+			flockY += flocker.posY;
+			flockZ += flocker.posZ;
+		}
+
+		return new Vec3d(flockX / flockmates.size(), flockY / flockmates.size(), flockZ / flockmates.size());
+	}
+
+	/**
+	 * @return True if one of the creature's flockmates nearby is dying. Only the dying members of the flock are
+	 * looked at, so this is next to free while nothing is.
+	 */
+	public static boolean isFlockmateDying(EntityLiving creature, double x, double y, double z) {
+		AxisAlignedBB box = creature.getEntityBoundingBox().grow(x, y, z);
+		Flock flock = getFlock(creature);
+		List<? extends EntityLiving> candidates = flock != null ? flock.dying : creature.world.getEntitiesWithinAABB(creature.getClass(), box);
+
+		for (EntityLiving flocker : candidates) {
+			if (flocker.deathTime > 0 && flocker.getEntityBoundingBox().intersects(box)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void onEntityAdded(Entity entity) {
+		if (!flocks.isEmpty() && entity instanceof EntityLiving) {
+			for (Flock flock : flocks.values()) {
+				if (flock.kind.isInstance(entity)) {
+					flock.members.add((EntityLiving) entity);
+				}
+			}
+		}
+	}
+
+	public void onEntityRemoved(Entity entity) {
+		if (!flocks.isEmpty() && entity instanceof EntityLiving) {
+			for (Flock flock : flocks.values()) {
+				flock.members.remove(entity);
+			}
+		}
+	}
+}
@@ -32,9 +32,8 @@ import twilightforest.TwilightForestMod;
 import twilightforest.block.BlockTFBossSpawner;
 import twilightforest.block.TFBlocks;
 import twilightforest.enums.BossVariant;
-import twilightforest.util.EntityUtil;
-import twilightforest.util.WorldUtil;
 import twilightforest.world.ChunkGeneratorTFBase;
+import twilightforest.world.TFBlockDestruction;
 import twilightforest.world.TFWorld;
 
 import javax.annotation.Nullable;
@@ -238,21 +237,26 @@ public class EntityTFHydra extends EntityLiving implements IEntityMultiPart, IMo
 				this.collideWithEntities(this.world.getEntitiesWithinAABBExcludingEntity(this, this.tail.getEntityBoundingBox()), this.tail);
 			}
 
-			this.destroyBlocksInAABB(this.body.getEntityBoundingBox());
-			this.destroyBlocksInAABB(this.tail.getEntityBoundingBox());
+			if (TFBlockDestruction.canGrief(this)) {
+				// all the parts at once, they overlap a lot
+				TFBlockDestruction destruction = new TFBlockDestruction(this);
+				destruction.add(this.body.getEntityBoundingBox());
+				destruction.add(this.tail.getEntityBoundingBox());
 
-			for (int i = 0; i < numHeads; i++) {
-				if (hc[i].headEntity != null && hc[i].isActive()) {
-					this.destroyBlocksInAABB(this.hc[i].headEntity.getEntityBoundingBox());
+				for (int i = 0; i < numHeads; i++) {
+					if (hc[i].headEntity != null && hc[i].isActive()) {
+						destruction.add(this.hc[i].headEntity.getEntityBoundingBox());
+					}
 				}
-			}
-
-			// smash blocks beneath us too
-			if (this.ticksExisted % 20 == 0) {
-				if (isUnsteadySurfaceBeneath()) {
-					this.destroyBlocksInAABB(this.getEntityBoundingBox().offset(0, -1, 0));
 
+				// smash blocks beneath us too
+				if (this.ticksExisted % 20 == 0) {
+					if (isUnsteadySurfaceBeneath()) {
+						destruction.add(this.getEntityBoundingBox().offset(0, -1, 0));
+					}
 				}
+
+				destruction.destroy();
 			}
 
 			bossInfo.setPercent(getHealth() / getMaxHealth());
@@ -591,12 +595,8 @@ public class EntityTFHydra extends EntityLiving implements IEntityMultiPart, IMo
 	}
 
 	private void destroyBlocksInAABB(AxisAlignedBB box) {
-		if (ForgeEventFactory.getMobGriefingEvent(world, this)) {
-			for (BlockPos pos : WorldUtil.getAllInBB(box)) {
-				if (EntityUtil.canDestroyBlock(world, pos, this)) {
-					world.destroyBlock(pos, false);
-				}
-			}
+		if (TFBlockDestruction.canGrief(this)) {
+			new TFBlockDestruction(this).add(box).destroy();
 		}
 	}
 
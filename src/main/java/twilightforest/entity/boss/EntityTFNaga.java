@@ -1,7 +1,6 @@
 package twilightforest.entity.boss;
 
 import net.minecraft.block.material.Material;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -39,7 +38,6 @@ import net.minecraft.world.BossInfoServer;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
-import net.minecraftforge.event.ForgeEventFactory;
 import twilightforest.TFFeature;
 import twilightforest.TFSounds;
 import twilightforest.TwilightForestMod;
@@ -50,6 +48,7 @@ import twilightforest.network.PacketThrowPlayer;
 import twilightforest.network.TFPacketHandler;
 import twilightforest.util.EntityUtil;
 import twilightforest.world.ChunkGeneratorTFBase;
+import twilightforest.world.TFBlockDestruction;
 import twilightforest.world.TFWorld;
 
 public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
@@ -202,7 +201,7 @@ public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
 
 		@Override
 		public boolean shouldExecute() {
-			return /*taskOwner.getAttackTarget() != null &&*/ taskOwner.collidedHorizontally && ForgeEventFactory.getMobGriefingEvent(taskOwner.world, taskOwner);
+			return /*taskOwner.getAttackTarget() != null &&*/ taskOwner.collidedHorizontally && TFBlockDestruction.canGrief(taskOwner);
 		}
 
 		@Override
@@ -219,16 +218,7 @@ public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
 			int maxy = MathHelper.floor(bb.maxY + 0.0D);
 			int maxz = MathHelper.floor(bb.maxZ + 0.75D);
 
-			BlockPos min = new BlockPos(minx, miny, minz);
-			BlockPos max = new BlockPos(maxx, maxy, maxz);
-
-			if (taskOwner.world.isAreaLoaded(min, max)) {
-				for (BlockPos pos : BlockPos.getAllInBox(min, max)) {
-					if (EntityUtil.canDestroyBlock(taskOwner.world, pos, taskOwner)) {
-						taskOwner.world.destroyBlock(pos, true);
-					}
-				}
-			}
+			new TFBlockDestruction(taskOwner).dropBlocks().add(minx, miny, minz, maxx, maxy, maxz).destroy();
 		}
 	}
 
@@ -395,7 +385,7 @@ public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
 
 		super.onLivingUpdate();
 
-		if (world.isRemote || !ForgeEventFactory.getMobGriefingEvent(world, this)) return;
+		if (world.isRemote || !TFBlockDestruction.canGrief(this)) return;
 
 		AxisAlignedBB bb = this.getEntityBoundingBox();
 
@@ -406,17 +396,8 @@ public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
 		int maxy = MathHelper.floor(bb.maxY + 0.0D);
 		int maxz = MathHelper.floor(bb.maxZ + 0.75D);
 
-		BlockPos min = new BlockPos(minx, miny, minz);
-		BlockPos max = new BlockPos(maxx, maxy, maxz);
-
-		if (world.isAreaLoaded(min, max)) {
-			for (BlockPos pos : BlockPos.getAllInBox(min, max)) {
-				IBlockState state = world.getBlockState(pos);
-				if (state.getMaterial() == Material.LEAVES && EntityUtil.canDestroyBlock(world, pos, state, this)) {
-					world.destroyBlock(pos, true);
-				}
-			}
-		}
+		new TFBlockDestruction(this).dropBlocks().add(minx, miny, minz, maxx, maxy, maxz)
+				.destroy((world, pos, state) -> state.getMaterial() == Material.LEAVES && EntityUtil.canDestroyBlock(world, pos, state, this));
 	}
 
 	@Override
@@ -568,7 +549,7 @@ public class EntityTFNaga extends EntityMob implements IEntityMultiPart {
 	}
 
 	private void crumbleBelowTarget(int range) {
-		if (!ForgeEventFactory.getMobGriefingEvent(world, this)) return;
+		if (!TFBlockDestruction.canGrief(this)) return;
 
 		int floor = (int) getEntityBoundingBox().minY;
 		int targetY = (int) getAttackTarget().getEntityBoundingBox().minY;
@@ -20,7 +20,6 @@ import net.minecraft.item.ItemPickaxe;
 import net.minecraft.item.ItemSpade;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemSword;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagByte;
 import net.minecraft.nbt.NBTTagCompound;
@@ -32,7 +31,6 @@ import net.minecraftforge.oredict.OreDictionary;
 import twilightforest.TFConfig;
 import twilightforest.util.TFItemStackUtils;
 
-import java.util.ArrayList;
 import java.util.Map;
 
 public class ContainerTFUncrafting extends Container {
@@ -297,31 +295,11 @@ public class ContainerTFUncrafting extends Container {
 	}
 
 	private IRecipe[] getRecipesFor(ItemStack inputStack) {
-		ArrayList<IRecipe> recipes = new ArrayList<>();
-
-		if (!inputStack.isEmpty()) {
-			for (IRecipe recipe : CraftingManager.REGISTRY) {
-				if (
-						recipe.canFit(3, 3)
-								&& !recipe.getIngredients().isEmpty()
-								&& recipe.getRecipeOutput().getItem() == inputStack.getItem() && inputStack.getCount() >= recipe.getRecipeOutput().getCount()
-								&& (!recipe.getRecipeOutput().getHasSubtypes() || recipe.getRecipeOutput().getItemDamage() == inputStack.getItemDamage())) {
-					recipes.add(recipe);
-				}
-			}
-		}
-
-		return recipes.toArray(new IRecipe[0]);
+		return UncraftingRecipeIndex.getRecipesFor(inputStack).toArray(new IRecipe[0]);
 	}
 
 	private IRecipe[] getRecipesFor(InventoryCrafting matrix, World world) {
-		ArrayList<IRecipe> recipes = new ArrayList<>();
-
-		for (IRecipe recipe : CraftingManager.REGISTRY)
-			if (recipe.matches(matrix, world))
-				recipes.add(recipe);
-
-		return recipes.toArray(new IRecipe[0]);
+		return UncraftingRecipeIndex.getRecipesFor(matrix, world).toArray(new IRecipe[0]);
 	}
 
 	private void chooseRecipe(InventoryCrafting inventory) {
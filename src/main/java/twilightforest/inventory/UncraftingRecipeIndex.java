@@ -0,0 +1,186 @@
+package twilightforest.inventory;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.world.World;
+import net.minecraftforge.event.RegistryEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.oredict.OreDictionary;
+import twilightforest.TwilightForestMod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookups from items to the crafting recipes that could involve them, so the uncrafting table doesn't have to go
+ * through every recipe in the game each time something in it changes.
+ * <p>
+ * Built the first time it's needed, and thrown away to be rebuilt when recipes or the ore dictionary change.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public final class UncraftingRecipeIndex {
+
+	private static volatile UncraftingRecipeIndex instance;
+
+	/**
+	 * Recipes that could be uncrafted, by output item
+	 */
+	private final Map<Item, List<IRecipe>> byOutput = new IdentityHashMap<>();
+	/**
+	 * Recipes by every item that any of their ingredients accept
+	 */
+	private final Map<Item, List<IRecipe>> byIngredient = new IdentityHashMap<>();
+	/**
+	 * Recipes that don't tell us their ingredients, which have to be checked against every grid
+	 */
+	private final List<IRecipe> unindexed = new ArrayList<>();
+	/**
+	 * Position of each recipe in the registry, so results keep the registry's order
+	 */
+	private final Map<IRecipe, Integer> order = new IdentityHashMap<>();
+	private final int registrySize;
+
+	private UncraftingRecipeIndex() {
+		int index = 0;
+
+		for (IRecipe recipe : CraftingManager.REGISTRY) {
+			order.put(recipe, index++);
+
+			if (recipe.canFit(3, 3) && !recipe.getIngredients().isEmpty()) {
+				addTo(byOutput, recipe.getRecipeOutput().getItem(), recipe);
+			}
+
+			if (!indexIngredients(recipe)) {
+				unindexed.add(recipe);
+			}
+		}
+
+		registrySize = index;
+	}
+
+	private boolean indexIngredients(IRecipe recipe) {
+		if (recipe.getIngredients().isEmpty()) {
+			return false;
+		}
+
+		List<Item> items = new ArrayList<>();
+		for (Ingredient ingredient : recipe.getIngredients()) {
+			if (ingredient == Ingredient.EMPTY) {
+				continue;
+			}
+			ItemStack[] matchingStacks = ingredient.getMatchingStacks();
+			if (matchingStacks.length == 0) {
+				return false;
+			}
+			for (ItemStack stack : matchingStacks) {
+				if (!items.contains(stack.getItem())) {
+					items.add(stack.getItem());
+				}
+			}
+		}
+
+		if (items.isEmpty()) {
+			return false;
+		}
+
+		for (Item item : items) {
+			addTo(byIngredient, item, recipe);
+		}
+		return true;
+	}
+
+	private static void addTo(Map<Item, List<IRecipe>> map, Item item, IRecipe recipe) {
+		map.computeIfAbsent(item, k -> new ArrayList<>()).add(recipe);
+	}
+
+	private static UncraftingRecipeIndex get() {
+		UncraftingRecipeIndex index = instance;
+		if (index == null || index.registrySize != CraftingManager.REGISTRY.getKeys().size()) {
+			synchronized (UncraftingRecipeIndex.class) {
+				index = instance;
+				if (index == null || index.registrySize != CraftingManager.REGISTRY.getKeys().size()) {
+					instance = index = new UncraftingRecipeIndex();
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return Recipes that could be uncrafted into the specified stack, in registry order
+	 */
+	public static List<IRecipe> getRecipesFor(ItemStack inputStack) {
+		if (inputStack.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<IRecipe> candidates = get().byOutput.getOrDefault(inputStack.getItem(), Collections.emptyList());
+		List<IRecipe> recipes = new ArrayList<>();
+
+		for (IRecipe recipe : candidates) {
+			ItemStack output = recipe.getRecipeOutput();
+			if (inputStack.getCount() >= output.getCount() && (!output.getHasSubtypes() || output.getItemDamage() == inputStack.getItemDamage())) {
+				recipes.add(recipe);
+			}
+		}
+
+		return recipes;
+	}
+
+	/**
+	 * @return Recipes that match the crafting grid, in registry order
+	 */
+	public static List<IRecipe> getRecipesFor(InventoryCrafting matrix, World world) {
+		UncraftingRecipeIndex index = get();
+
+		List<IRecipe> candidates = Collections.emptyList();
+		for (int i = 0; i < matrix.getSizeInventory(); i++) {
+			ItemStack stack = matrix.getStackInSlot(i);
+			if (!stack.isEmpty()) {
+				candidates = index.byIngredient.getOrDefault(stack.getItem(), Collections.emptyList());
+				break;
+			}
+		}
+
+		// both lists are in registry order, merge them to keep it
+		List<IRecipe> recipes = new ArrayList<>();
+		int i = 0, j = 0;
+		while (i < candidates.size() || j < index.unindexed.size()) {
+			IRecipe recipe;
+			if (j >= index.unindexed.size() || (i < candidates.size() && index.order.get(candidates.get(i)) < index.order.get(index.unindexed.get(j)))) {
+				recipe = candidates.get(i++);
+			} else {
+				recipe = index.unindexed.get(j++);
+			}
+
+			if (recipe.matches(matrix, world)) {
+				recipes.add(recipe);
+			}
+		}
+
+		return recipes;
+	}
+
+	public static void invalidate() {
+		instance = null;
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public static void onRecipesRegistered(RegistryEvent.Register<IRecipe> event) {
+		invalidate();
+	}
+
+	@SubscribeEvent
+	public static void onOreRegistered(OreDictionary.OreRegisterEvent event) {
+		invalidate();
+	}
+}
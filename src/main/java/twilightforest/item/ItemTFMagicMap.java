@@ -4,6 +4,7 @@ import net.minecraft.block.material.MapColor;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Biomes;
 import net.minecraft.item.ItemMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.Packet;
@@ -23,6 +24,7 @@ import twilightforest.network.TFPacketHandler;
 import twilightforest.biomes.TFBiomes;
 import twilightforest.client.ModelRegisterCallback;
 import twilightforest.network.PacketMagicMap;
+import twilightforest.world.TFBiomeProvider;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
@@ -31,6 +33,7 @@ import java.util.Map;
 public class ItemTFMagicMap extends ItemMap implements ModelRegisterCallback {
 	public static final String STR_ID = "magicmap";
 	private static final Map<ResourceLocation, MapColorBrightness> BIOME_COLORS = new HashMap<>();
+	private static final MapColorBrightness[] BIOME_ID_COLORS = new MapColorBrightness[256];
 
 	private static class MapColorBrightness {
 		public MapColor color;
@@ -101,58 +104,113 @@ public class ItemTFMagicMap extends ItemMap implements ModelRegisterCallback {
 			int viewerX = MathHelper.floor(viewer.posX - (double) centerX) / blocksPerPixel + 64;
 			int viewerZ = MathHelper.floor(viewer.posZ - (double) centerZ) / blocksPerPixel + 64;
 			int viewRadiusPixels = 512 / blocksPerPixel;
+			TFMagicMapData tfData = (TFMagicMapData) data;
+
+			// the biomes never change, so nothing new can be revealed until the viewer moves onto another pixel
+			if (tfData.lastViewerX == viewerX && tfData.lastViewerZ == viewerZ) {
+				return;
+			}
+			tfData.lastViewerX = viewerX;
+			tfData.lastViewerZ = viewerZ;
 
 			// use the generation map, which is larger scale than the other biome map
 			int startX = (centerX / blocksPerPixel - 64) * biomesPerPixel;
 			int startZ = (centerZ / blocksPerPixel - 64) * biomesPerPixel;
-			Biome[] biomes = world.getBiomeProvider().getBiomesForGeneration((Biome[]) null, startX, startZ, 128 * biomesPerPixel, 128 * biomesPerPixel);
+			byte[] biomeIds = getBiomeIds(world, startX, startZ, 128 * biomesPerPixel);
+			byte streamId = (byte) Biome.getIdForBiome(TFBiomes.stream);
 
 			for (int xPixel = viewerX - viewRadiusPixels + 1; xPixel < viewerX + viewRadiusPixels; ++xPixel) {
 				for (int zPixel = viewerZ - viewRadiusPixels - 1; zPixel < viewerZ + viewRadiusPixels; ++zPixel) {
-					if (xPixel >= 0 && zPixel >= 0 && xPixel < 128 && zPixel < 128) {
-						int xPixelDist = xPixel - viewerX;
-						int zPixelDist = zPixel - viewerZ;
-						boolean shouldFuzz = xPixelDist * xPixelDist + zPixelDist * zPixelDist > (viewRadiusPixels - 2) * (viewRadiusPixels - 2);
-
-						Biome biome = biomes[xPixel * biomesPerPixel + zPixel * biomesPerPixel * 128 * biomesPerPixel];
+					if (isPixelRevealed(xPixel, zPixel, viewerX, viewerZ, viewRadiusPixels)) {
+						byte biomeId = biomeIds[xPixel * biomesPerPixel + zPixel * biomesPerPixel * 128 * biomesPerPixel];
 
 						// make streams more visible
-						Biome overBiome = biomes[xPixel * biomesPerPixel + zPixel * biomesPerPixel * 128 * biomesPerPixel + 1];
-						Biome downBiome = biomes[xPixel * biomesPerPixel + (zPixel * biomesPerPixel + 1) * 128 * biomesPerPixel];
-						if (overBiome == TFBiomes.stream || downBiome == TFBiomes.stream) {
-							biome = TFBiomes.stream;
+						byte overBiomeId = biomeIds[xPixel * biomesPerPixel + zPixel * biomesPerPixel * 128 * biomesPerPixel + 1];
+						byte downBiomeId = biomeIds[xPixel * biomesPerPixel + (zPixel * biomesPerPixel + 1) * 128 * biomesPerPixel];
+						if (overBiomeId == streamId || downBiomeId == streamId) {
+							biomeId = streamId;
 						}
 
-						MapColorBrightness colorBrightness = this.getMapColorPerBiome(world, biome);
+						MapColorBrightness colorBrightness = this.getMapColorPerBiome(world, biomeId & 255);
 
 						MapColor mapcolor = colorBrightness.color;
 						int brightness = colorBrightness.brightness;
 
-						if (zPixel >= 0 && xPixelDist * xPixelDist + zPixelDist * zPixelDist < viewRadiusPixels * viewRadiusPixels && (!shouldFuzz || (xPixel + zPixel & 1) != 0)) {
-							byte orgPixel = data.colors[xPixel + zPixel * 128];
-							byte ourPixel = (byte) (mapcolor.colorIndex * 4 + brightness);
-
-							if (orgPixel != ourPixel) {
-								data.colors[xPixel + zPixel * 128] = ourPixel;
-								data.updateMapData(xPixel, zPixel);
-							}
-
-							// look for TF features
-							int worldX = (centerX / blocksPerPixel + xPixel - 64) * blocksPerPixel;
-							int worldZ = (centerZ / blocksPerPixel + zPixel - 64) * blocksPerPixel;
-							if (TFFeature.isInFeatureChunk(world, worldX, worldZ)) {
-								byte mapX = (byte) ((worldX - centerX) / (float) blocksPerPixel * 2F);
-								byte mapZ = (byte) ((worldZ - centerZ) / (float) blocksPerPixel * 2F);
-								TFFeature feature = TFFeature.getFeatureAt(worldX, worldZ, world);
-								TFMagicMapData tfData = (TFMagicMapData) data;
-								tfData.tfDecorations.add(new TFMagicMapData.TFMapDecoration(feature.ordinal(), mapX, mapZ, (byte) 8));
-								//TwilightForestMod.LOGGER.info("Found feature at {}, {}. Placing it on the map at {}, {}", worldX, worldZ, mapX, mapZ);
-							}
+						byte orgPixel = data.colors[xPixel + zPixel * 128];
+						byte ourPixel = (byte) (mapcolor.colorIndex * 4 + brightness);
+
+						if (orgPixel != ourPixel) {
+							data.colors[xPixel + zPixel * 128] = ourPixel;
+							data.updateMapData(xPixel, zPixel);
 						}
 					}
 				}
 			}
+
+			// look for TF features, there is only one in each region so just check their centers
+			int startChunkX = centerX / blocksPerPixel - 64;
+			int startChunkZ = centerZ / blocksPerPixel - 64;
+			for (int regionX = (startChunkX + 8) >> 4; regionX <= (startChunkX + 127 + 8) >> 4; regionX++) {
+				for (int regionZ = (startChunkZ + 8) >> 4; regionZ <= (startChunkZ + 127 + 8) >> 4; regionZ++) {
+					BlockPos cc = TFFeature.getRegionCenter(regionX, regionZ);
+					int xPixel = (cc.getX() >> 4) - startChunkX;
+					int zPixel = (cc.getZ() >> 4) - startChunkZ;
+
+					if (isPixelRevealed(xPixel, zPixel, viewerX, viewerZ, viewRadiusPixels)) {
+						int worldX = (startChunkX + xPixel) * blocksPerPixel;
+						int worldZ = (startChunkZ + zPixel) * blocksPerPixel;
+						byte mapX = (byte) ((worldX - centerX) / (float) blocksPerPixel * 2F);
+						byte mapZ = (byte) ((worldZ - centerZ) / (float) blocksPerPixel * 2F);
+						TFFeature feature = TFFeature.getFeatureAt(worldX, worldZ, world);
+						tfData.tfDecorations.add(new TFMagicMapData.TFMapDecoration(feature.ordinal(), mapX, mapZ, (byte) 8));
+						//TwilightForestMod.LOGGER.info("Found feature at {}, {}. Placing it on the map at {}, {}", worldX, worldZ, mapX, mapZ);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Is this pixel inside the circle the viewer can see, leaving out every other pixel along the fuzzy edge?
+	 */
+	private static boolean isPixelRevealed(int xPixel, int zPixel, int viewerX, int viewerZ, int viewRadiusPixels) {
+		if (xPixel < 0 || zPixel < 0 || xPixel >= 128 || zPixel >= 128) {
+			return false;
+		}
+		int xPixelDist = xPixel - viewerX;
+		int zPixelDist = zPixel - viewerZ;
+		int pixelDistSq = xPixelDist * xPixelDist + zPixelDist * zPixelDist;
+		boolean shouldFuzz = pixelDistSq > (viewRadiusPixels - 2) * (viewRadiusPixels - 2);
+
+		return pixelDistSq < viewRadiusPixels * viewRadiusPixels && (!shouldFuzz || (xPixel + zPixel & 1) != 0);
+	}
+
+	/**
+	 * Get the biome ids for a map, straight from the shared map cache if we can
+	 */
+	private static byte[] getBiomeIds(World world, int startX, int startZ, int size) {
+		if (world.getBiomeProvider() instanceof TFBiomeProvider) {
+			byte[] biomeIds = ((TFBiomeProvider) world.getBiomeProvider()).getMapBiomeIds(startX, startZ, size, size);
+			if (biomeIds != null) {
+				return biomeIds;
+			}
+		}
+
+		Biome[] biomes = world.getBiomeProvider().getBiomesForGeneration((Biome[]) null, startX, startZ, size, size);
+		byte[] biomeIds = new byte[biomes.length];
+		for (int i = 0; i < biomes.length; i++) {
+			biomeIds[i] = (byte) Biome.getIdForBiome(biomes[i]);
+		}
+		return biomeIds;
+	}
+
+	private MapColorBrightness getMapColorPerBiome(World world, int biomeId) {
+		MapColorBrightness color = BIOME_ID_COLORS[biomeId];
+		if (color == null) {
+			Biome biome = Biome.getBiome(biomeId, Biomes.DEFAULT);
+			color = BIOME_ID_COLORS[biomeId] = getMapColorPerBiome(world, biome);
 		}
+		return color;
 	}
 
 	private MapColorBrightness getMapColorPerBiome(World world, Biome biome) {
@@ -1,9 +1,5 @@
 package twilightforest.item;
 
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Multiset;
-import com.google.common.collect.Multisets;
 import net.minecraft.block.BlockDirt;
 import net.minecraft.block.BlockStone;
 import net.minecraft.block.material.MapColor;
@@ -26,16 +22,20 @@ import net.minecraft.world.storage.MapDecoration;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import twilightforest.TFMazeMapColumnCache;
 import twilightforest.TFMazeMapData;
 import twilightforest.network.TFPacketHandler;
 import twilightforest.client.ModelRegisterCallback;
 import twilightforest.network.PacketMazeMap;
+import twilightforest.util.TFOreTable;
+import twilightforest.world.TFWorldEventListener;
 
 import javax.annotation.Nullable;
 
 public class ItemTFMazeMap extends ItemMap implements ModelRegisterCallback {
 	private static final String STR_ID = "mazemap";
-	private static final int YSEARCH = 3;
+	private static final int YSEARCH = TFMazeMapColumnCache.YSEARCH;
+	private static final int HAS_ORE = 1 << 8;
 	protected boolean mapOres;
 
 	protected ItemTFMazeMap(boolean mapOres) {
@@ -92,7 +92,6 @@ public class ItemTFMazeMap extends ItemMap implements ModelRegisterCallback {
 	}
 
 	// [VanillaCopy] of superclass, with sane variable names and noted changes
-	@SuppressWarnings("unused")
 	@Override
 	public void updateMapData(World world, Entity viewer, MapData data) {
 		if (world.provider.getDimension() == data.dimension && viewer instanceof EntityPlayer) {
@@ -111,10 +110,16 @@ public class ItemTFMazeMap extends ItemMap implements ModelRegisterCallback {
 			++mapdata$mapinfo.step;
 			boolean flag = false;
 
+			// TF - remember resolved columns per chunk, rather than searching blocks and counting colours every pixel
+			int yCenter = ((TFMazeMapData) data).yCenter;
+			TFWorldEventListener listener = TFWorldEventListener.get(world);
+			BlockPos.MutableBlockPos blockpos$mutableblockpos = new BlockPos.MutableBlockPos();
+			Chunk chunk = null;
+			int[] columns = null;
+
 			for (int xPixel = viewerX - viewRadiusPixels + 1; xPixel < viewerX + viewRadiusPixels; ++xPixel) {
 				if ((xPixel & 15) == (mapdata$mapinfo.step & 15) || flag) {
 					flag = false;
-					double d0 = 0.0D;
 
 					for (int zPixel = viewerZ - viewRadiusPixels - 1; zPixel < viewerZ + viewRadiusPixels; ++zPixel) {
 						if (xPixel >= 0 && zPixel >= -1 && xPixel < 128 && zPixel < 128) {
@@ -123,114 +128,43 @@ public class ItemTFMazeMap extends ItemMap implements ModelRegisterCallback {
 							boolean shouldFuzz = xPixelDist * xPixelDist + zPixelDist * zPixelDist > (viewRadiusPixels - 2) * (viewRadiusPixels - 2);
 							int worldX = (centerX / blocksPerPixel + xPixel - 64) * blocksPerPixel;
 							int worldZ = (centerZ / blocksPerPixel + zPixel - 64) * blocksPerPixel;
-							Multiset<MapColor> multiset = HashMultiset.<MapColor>create();
-							Chunk chunk = world.getChunk(new BlockPos(worldX, 0, worldZ));
 
-							int brightness = 1;
+							if (chunk == null || chunk.x != worldX >> 4 || chunk.z != worldZ >> 4) {
+								chunk = world.getChunk(worldX >> 4, worldZ >> 4);
+								columns = listener != null ? listener.mazeMapColumns.getColumns(chunk.x, chunk.z, yCenter) : null;
+							}
+
 							if (!chunk.isEmpty()) {
-								int worldXRounded = worldX & 15;
-								int worldZRounded = worldZ & 15;
-								int numLiquid = 0;
-								double d1 = 0.0D;
+								int colorIndex;
+								int brightness = 1;
 
 								if (world.provider.isNether()) {
 									int l3 = worldX + worldZ * 231871;
 									l3 = l3 * l3 * 31287121 + l3 * 11;
 
 									if ((l3 >> 20 & 1) == 0) {
-										multiset.add(Blocks.DIRT.getDefaultState().withProperty(BlockDirt.VARIANT, BlockDirt.DirtType.DIRT).getMapColor(world, BlockPos.ORIGIN), 10);
+										colorIndex = Blocks.DIRT.getDefaultState().withProperty(BlockDirt.VARIANT, BlockDirt.DirtType.DIRT).getMapColor(world, BlockPos.ORIGIN).colorIndex;
 									} else {
-										multiset.add(Blocks.STONE.getDefaultState().withProperty(BlockStone.VARIANT, BlockStone.EnumType.STONE).getMapColor(world, BlockPos.ORIGIN), 100);
+										colorIndex = Blocks.STONE.getDefaultState().withProperty(BlockStone.VARIANT, BlockStone.EnumType.STONE).getMapColor(world, BlockPos.ORIGIN).colorIndex;
 									}
-
-									d1 = 100.0D;
 								} else {
-									// TF - remove extra 2 levels of loops
-									// maze maps are always 0 scale, which is 1 pixel = 1 block, so the loops are unneeded
-									int yCenter = ((TFMazeMapData) data).yCenter;
-									BlockPos.MutableBlockPos blockpos$mutableblockpos = new BlockPos.MutableBlockPos(worldXRounded, yCenter, worldZRounded);
-									IBlockState state = chunk.getBlockState(blockpos$mutableblockpos);
-
-									multiset.add(state.getMapColor(world, blockpos$mutableblockpos));
-
-									if (state.getBlock() == Blocks.STONE || state.getBlock() == Blocks.AIR) {
-										for (int i = -YSEARCH; i <= YSEARCH; i++) {
-											blockpos$mutableblockpos.setY(yCenter + i);
-											IBlockState searchID = chunk.getBlockState(blockpos$mutableblockpos);
-											if (searchID.getBlock() != Blocks.STONE && searchID.getBlock() != Blocks.AIR) {
-												state = searchID;
-												if (i > 0) {
-													brightness = 2;
-												}
-												if (i < 0) {
-													brightness = 0;
-												}
-
-												break;
-											}
-										}
-									}
+									int columnIndex = TFMazeMapColumnCache.getColumnIndex(worldX, worldZ);
+									int column = columns != null ? columns[columnIndex] : TFMazeMapColumnCache.UNRESOLVED;
 
-									if (mapOres) {
-										// recolor ores
-										if (state.getBlock() == Blocks.COAL_ORE) {
-											multiset.add(MapColor.BLACK, 1000);
-										} else if (state.getBlock() == Blocks.GOLD_ORE) {
-											multiset.add(MapColor.GOLD, 1000);
-										} else if (state.getBlock() == Blocks.IRON_ORE) {
-											multiset.add(MapColor.IRON, 1000);
-										} else if (state.getBlock() == Blocks.LAPIS_ORE) {
-											multiset.add(MapColor.LAPIS, 1000);
-										} else if (state.getBlock() == Blocks.REDSTONE_ORE || state.getBlock() == Blocks.LIT_REDSTONE_ORE) {
-											multiset.add(MapColor.RED, 1000);
-										} else if (state.getBlock() == Blocks.DIAMOND_ORE) {
-											multiset.add(MapColor.DIAMOND, 1000);
-										} else if (state.getBlock() == Blocks.EMERALD_ORE) {
-											multiset.add(MapColor.EMERALD, 1000);
-										} else if (state.getBlock() != Blocks.AIR && state.getBlock().getRegistryName().getPath().contains("ore")) { // TODO: improve this 0.o
-											// any other ore, catchall
-											multiset.add(MapColor.PINK, 1000);
+									if (column == TFMazeMapColumnCache.UNRESOLVED) {
+										column = resolveColumn(world, chunk, blockpos$mutableblockpos, worldX, worldZ, yCenter);
+										if (columns != null) {
+											columns[columnIndex] = column;
 										}
 									}
-								}
-
-                                /*numLiquid = numLiquid / (blocksPerPixel * blocksPerPixel);
-								double d2 = (d1 - d0) * 4.0D / (double)(blocksPerPixel + 4) + ((double)(xPixel + zPixel & 1) - 0.5D) * 0.4D;
-                                int brightness = 1;
-
-                                if (d2 > 0.6D)
-                                {
-                                    brightness = 2;
-                                }
-
-                                if (d2 < -0.6D)
-                                {
-                                    brightness = 0;
-                                }*/
-
-								MapColor mapcolor = (MapColor) Iterables.getFirst(Multisets.<MapColor>copyHighestCountFirst(multiset), MapColor.AIR);
-
-                                /*if (mapcolor == MapColor.WATER)
-                                {
-                                    d2 = (double)numLiquid * 0.1D + (double)(xPixel + zPixel & 1) * 0.2D;
-                                    brightness = 1;
-
-                                    if (d2 < 0.5D)
-                                    {
-                                        brightness = 2;
-                                    }
-
-                                    if (d2 > 0.9D)
-                                    {
-                                        brightness = 0;
-                                    }
-                                }*/
 
-								d0 = d1;
+									brightness = column & 3;
+									colorIndex = mapOres && (column & HAS_ORE) != 0 ? column >> 9 & 63 : column >> 2 & 63;
+								}
 
 								if (zPixel >= 0 && xPixelDist * xPixelDist + zPixelDist * zPixelDist < viewRadiusPixels * viewRadiusPixels && (!shouldFuzz || (xPixel + zPixel & 1) != 0)) {
 									byte b0 = data.colors[xPixel + zPixel * 128];
-									byte b1 = (byte) (mapcolor.colorIndex * 4 + brightness);
+									byte b1 = (byte) (colorIndex * 4 + brightness);
 
 									if (b0 != b1) {
 										data.colors[xPixel + zPixel * 128] = b1;
@@ -246,6 +180,49 @@ public class ItemTFMazeMap extends ItemMap implements ModelRegisterCallback {
 		}
 	}
 
+	/**
+	 * Work out what a column looks like at the map height.
+	 *
+	 * @return brightness in the lowest 2 bits, then the colour index of the block at the map height, then a flag and
+	 * colour index for an ore found while searching up and down, for ore maps
+	 */
+	private static int resolveColumn(World world, Chunk chunk, BlockPos.MutableBlockPos blockpos$mutableblockpos, int worldX, int worldZ, int yCenter) {
+		// TF - remove extra 2 levels of loops
+		// maze maps are always 0 scale, which is 1 pixel = 1 block, so the loops are unneeded
+		blockpos$mutableblockpos.setPos(worldX & 15, yCenter, worldZ & 15);
+		IBlockState state = chunk.getBlockState(blockpos$mutableblockpos);
+		int colorIndex = state.getMapColor(world, blockpos$mutableblockpos).colorIndex;
+		int brightness = 1;
+
+		if (state.getBlock() == Blocks.STONE || state.getBlock() == Blocks.AIR) {
+			for (int i = -YSEARCH; i <= YSEARCH; i++) {
+				blockpos$mutableblockpos.setY(yCenter + i);
+				IBlockState searchID = chunk.getBlockState(blockpos$mutableblockpos);
+				if (searchID.getBlock() != Blocks.STONE && searchID.getBlock() != Blocks.AIR) {
+					state = searchID;
+					if (i > 0) {
+						brightness = 2;
+					}
+					if (i < 0) {
+						brightness = 0;
+					}
+
+					break;
+				}
+			}
+		}
+
+		int column = brightness | colorIndex << 2;
+
+		// recolor ores
+		MapColor oreColor = TFOreTable.getOreMapColor(state);
+		if (oreColor != null) {
+			column |= HAS_ORE | oreColor.colorIndex << 9;
+		}
+
+		return column;
+	}
+
 	// [VanillaCopy] super but shows a dot if player is too far in the vertical direction as well
 	@Override
 	public void onUpdate(ItemStack stack, World worldIn, Entity entityIn, int slot, boolean isSelected) {
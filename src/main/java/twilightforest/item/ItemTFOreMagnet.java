@@ -1,5 +1,9 @@
 package twilightforest.item;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.block.state.pattern.BlockMatcher;
@@ -12,7 +16,6 @@ import net.minecraft.item.IItemPropertyGetter;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.EnumActionResult;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -24,15 +27,16 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import twilightforest.block.BlockTFRoots;
 import twilightforest.block.TFBlocks;
 import twilightforest.enums.RootVariant;
+import twilightforest.util.TFOreTable;
+import twilightforest.util.TFOreVein;
 import twilightforest.world.feature.TFGenerator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.HashSet;
-import java.util.Set;
 
 public class ItemTFOreMagnet extends ItemTF {
 	private static final float WIGGLE = 10F;
+	private static final int MAX_VEIN_SIZE = 24;
 
 	protected ItemTFOreMagnet() {
 		this.maxStackSize = 1;
@@ -155,35 +159,48 @@ public class ItemTFOreMagnet extends ItemTF {
 					basePos = coord;
 				}
 				// This ordering is so that the base pos is found first before we pull ores - pushing ores away is a baaaaad idea!
-			} else if (foundPos == null && searchState.getBlock() != Blocks.AIR && isOre(searchState) && (world.getTileEntity(coord) == null)) {
+			} else if (searchState.getBlock() != Blocks.AIR && isOre(searchState) && (world.getTileEntity(coord) == null)) {
                 foundState = searchState;
                 foundPos = coord;
+                break;
             }
 		}
 
 		if (basePos != null && foundState.getBlock() != Blocks.AIR) {
 			// find the whole vein
-			Set<BlockPos> veinBlocks = new HashSet<BlockPos>();
-			findVein(world, foundPos, foundState, veinBlocks);
+			LongSet veinBlocks = TFOreVein.find(world, foundPos, foundState, MAX_VEIN_SIZE);
 
 			// move it up into minable blocks or dirt
 			int offX = basePos.getX() - foundPos.getX();
 			int offY = basePos.getY() - foundPos.getY();
 			int offZ = basePos.getZ() - foundPos.getZ();
 
-			for (BlockPos coord : veinBlocks) {
-				BlockPos replacePos = coord.add(offX, offY, offZ);
-				IBlockState replaceState = world.getBlockState(replacePos);
+			IBlockState fillState = isNetherrack ? Blocks.NETHERRACK.getDefaultState() : Blocks.STONE.getDefaultState();
+			Long2ObjectLinkedOpenHashMap<IBlockState> moves = new Long2ObjectLinkedOpenHashMap<>();
+			BlockPos.MutableBlockPos replacePos = new BlockPos.MutableBlockPos();
+
+			for (LongIterator it = veinBlocks.iterator(); it.hasNext(); ) {
+				long coord = it.nextLong();
+				BlockPos veinPos = BlockPos.fromLong(coord);
+				replacePos.setPos(veinPos.getX() + offX, veinPos.getY() + offY, veinPos.getZ() + offZ);
+				long replaceKey = replacePos.toLong();
+
+				// earlier moves in this vein may already have changed the block there
+				IBlockState replaceState = moves.containsKey(replaceKey) ? moves.get(replaceKey) : world.getBlockState(replacePos);
 
 				if ((isNetherrack ? isNetherReplaceable(world, replaceState, replacePos) : isReplaceable(world, replaceState, replacePos)) || replaceState.getBlock() == Blocks.AIR) {
 					// set vein to stone / netherrack
-					world.setBlockState(coord, isNetherrack ? Blocks.NETHERRACK.getDefaultState() : Blocks.STONE.getDefaultState(), 2);
+					moves.put(coord, fillState);
 
 					// set close to ore material
-					world.setBlockState(replacePos, foundState, 2);
+					moves.put(replaceKey, foundState);
 					blocksMoved++;
 				}
 			}
+
+			for (Long2ObjectMap.Entry<IBlockState> move : moves.long2ObjectEntrySet()) {
+				world.setBlockState(BlockPos.fromLong(move.getLongKey()), move.getValue(), 2);
+			}
 		}
 
 		return blocksMoved;
@@ -225,51 +242,12 @@ public class ItemTFOreMagnet extends ItemTF {
 		return false;
 	}
 
-	private static boolean findVein(World world, BlockPos here, IBlockState oreState, Set<BlockPos> veinBlocks) {
-		// is this already on the list?
-		if (veinBlocks.contains(here)) {
-			return false;
-		}
-
-		// let's limit it to 24 blocks at a time 
-		if (veinBlocks.size() >= 24) {
-			return false;
-		}
-
-		// otherwise, check if we're still in the vein
-		if (world.getBlockState(here) == oreState) {
-			veinBlocks.add(here);
-
-			// recurse in 6 directions
-			for (EnumFacing e : EnumFacing.VALUES) {
-				findVein(world, here.offset(e), oreState, veinBlocks);
-			}
-
-			return true;
-		} else {
-			return false;
-		}
-	}
-
+	/**
+	 * Anything in the ore table except coal, plus liveroot
+	 */
 	private static boolean isOre(IBlockState state) {
-        Block block = state.getBlock();
+		if (state.getBlock() == Blocks.COAL_ORE) return false;
 
-		if (block == Blocks.COAL_ORE) return false;
-
-		if (block == Blocks.IRON_ORE
-                || block == Blocks.DIAMOND_ORE
-                || block == Blocks.EMERALD_ORE
-                || block == Blocks.GOLD_ORE
-                || block == Blocks.LAPIS_ORE
-                || block == Blocks.REDSTONE_ORE
-                || block == Blocks.LIT_REDSTONE_ORE
-                || block == Blocks.QUARTZ_ORE
-                || state == TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.LIVEROOT)
-                // todo 1.9 oh god
-				// National treasure -Drullkus
-                || state.getBlock().getRegistryName().getPath().contains("ore"))
-		    return true;
-
-		return false;
+		return TFOreTable.isOre(state) || state == TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.LIVEROOT);
 	}
-}
\ No newline at end of file
+}
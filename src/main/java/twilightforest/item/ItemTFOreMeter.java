@@ -1,14 +1,11 @@
 package twilightforest.item;
 
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.EnumActionResult;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.World;
@@ -16,10 +13,9 @@ import twilightforest.TwilightForestMod;
 import twilightforest.block.BlockTFRoots;
 import twilightforest.block.TFBlocks;
 import twilightforest.enums.RootVariant;
+import twilightforest.world.TFOreCensus;
 
 import javax.annotation.Nonnull;
-import java.util.IdentityHashMap;
-import java.util.Map;
 
 public class ItemTFOreMeter extends ItemTF {
 
@@ -61,25 +57,24 @@ public class ItemTFOreMeter extends ItemTF {
 
 		int total = 0;
 
-		ScanResult dummy = new ScanResult();
 		for (int cx = chunkX - radius; cx <= chunkX + radius; cx++) {
 			for (int cz = chunkZ - radius; cz <= chunkZ + radius; cz++) {
-				Map<IBlockState, ScanResult> results = countBlocksInChunk(world, chunkX, chunkZ);
-
-				countStone += results.entrySet().stream().filter(e -> e.getKey().getBlock() == Blocks.STONE).mapToInt(e -> e.getValue().count).sum();
-				countDirt += results.entrySet().stream().filter(e -> e.getKey().getBlock() == Blocks.DIRT).mapToInt(e -> e.getValue().count).sum();
-				countGravel += results.getOrDefault(Blocks.GRAVEL.getDefaultState(), dummy).count;
-
-				countCoal += results.getOrDefault(Blocks.COAL_ORE.getDefaultState(), dummy).count;
-				countIron += results.getOrDefault(Blocks.IRON_ORE.getDefaultState(), dummy).count;
-				countGold += results.getOrDefault(Blocks.GOLD_ORE.getDefaultState(), dummy).count;
-				countDiamond += results.getOrDefault(Blocks.DIAMOND_ORE.getDefaultState(), dummy).count;
-				countLapis += results.getOrDefault(Blocks.LAPIS_ORE.getDefaultState(), dummy).count;
-				countRedstone += results.getOrDefault(Blocks.REDSTONE_ORE.getDefaultState(), dummy).count + results.getOrDefault(Blocks.LIT_REDSTONE_ORE.getDefaultState(), dummy).count;
-				countExposedDiamond += results.getOrDefault(Blocks.DIAMOND_ORE.getDefaultState(), dummy).exposedCount;
-
-				countRoots += results.getOrDefault(TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.ROOT), dummy).count;
-				countOreRoots += results.getOrDefault(TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.LIVEROOT), dummy).count;
+				TFOreCensus.Histogram results = TFOreCensus.getHistogram(world, cx, cz);
+
+				countStone += results.getCount(Blocks.STONE);
+				countDirt += results.getCount(Blocks.DIRT);
+				countGravel += results.getCount(Blocks.GRAVEL.getDefaultState());
+
+				countCoal += results.getCount(Blocks.COAL_ORE.getDefaultState());
+				countIron += results.getCount(Blocks.IRON_ORE.getDefaultState());
+				countGold += results.getCount(Blocks.GOLD_ORE.getDefaultState());
+				countDiamond += results.getCount(Blocks.DIAMOND_ORE.getDefaultState());
+				countLapis += results.getCount(Blocks.LAPIS_ORE.getDefaultState());
+				countRedstone += results.getCount(Blocks.REDSTONE_ORE.getDefaultState()) + results.getCount(Blocks.LIT_REDSTONE_ORE.getDefaultState());
+				countExposedDiamond += results.getExposedCount(Blocks.DIAMOND_ORE.getDefaultState());
+
+				countRoots += results.getCount(TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.ROOT));
+				countOreRoots += results.getCount(TFBlocks.root.getDefaultState().withProperty(BlockTFRoots.VARIANT, RootVariant.LIVEROOT));
 			}
 		}
 
@@ -100,32 +95,4 @@ public class ItemTFOreMeter extends ItemTF {
 	private String percent(int count, int total) {
 		return Float.toString((float) count / (float) total * 100F) + "%";
 	}
-
-	private Map<IBlockState, ScanResult> countBlocksInChunk(World world, int cx, int cz) {
-		Map<IBlockState, ScanResult> ret = new IdentityHashMap<>();
-		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
-		for (int x = cx << 4; x < (cx << 4) + 16; x++) {
-			for (int z = cz << 4; z < (cz << 4) + 16; z++) {
-				for (int y = 0; y < 256; y++) {
-					IBlockState state = world.getBlockState(pos.setPos(x, y, z));
-					ScanResult res = ret.computeIfAbsent(state, s -> new ScanResult());
-					res.count++;
-
-					for (EnumFacing e : EnumFacing.VALUES) {
-						if (world.isAirBlock(pos.setPos(x, y, z).move(e))) {
-							res.exposedCount++;
-							break;
-						}
-					}
-				}
-			}
-		}
-
-		return ret;
-	}
-
-	private static class ScanResult {
-		int count;
-		int exposedCount;
-	}
 }
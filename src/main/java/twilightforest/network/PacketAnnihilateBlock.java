@@ -9,24 +9,37 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import twilightforest.TwilightForestMod;
 
+/**
+ * Blocks that have just been annihilated, all in one go
+ */
 public class PacketAnnihilateBlock implements IMessage {
-	private BlockPos pos;
+	private long[] positions;
 
 	public PacketAnnihilateBlock() {
 	}
 
 	public PacketAnnihilateBlock(BlockPos pos) {
-		this.pos = pos;
+		this(new long[] { pos.toLong() });
+	}
+
+	public PacketAnnihilateBlock(long[] positions) {
+		this.positions = positions;
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
-		pos = BlockPos.fromLong(buf.readLong());
+		positions = new long[buf.readUnsignedShort()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = buf.readLong();
+		}
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-		buf.writeLong(pos.toLong());
+		buf.writeShort(positions.length);
+		for (long pos : positions) {
+			buf.writeLong(pos);
+		}
 	}
 
 	public static class Handler implements IMessageHandler<PacketAnnihilateBlock, IMessage> {
@@ -36,7 +49,9 @@ public class PacketAnnihilateBlock implements IMessage {
 				@Override
 				public void run() {
 					World world = Minecraft.getMinecraft().world;
-					TwilightForestMod.proxy.doBlockAnnihilateEffect(world, message.pos);
+					for (long pos : message.positions) {
+						TwilightForestMod.proxy.doBlockAnnihilateEffect(world, BlockPos.fromLong(pos));
+					}
 				}
 			});
 
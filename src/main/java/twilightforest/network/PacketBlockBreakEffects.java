@@ -0,0 +1,61 @@
+package twilightforest.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * The break particles and sounds for a batch of blocks a boss smashed, instead of an effect packet for each one
+ */
+public class PacketBlockBreakEffects implements IMessage {
+	private long[] positions;
+	private int[] stateIds;
+
+	public PacketBlockBreakEffects() {
+	}
+
+	public PacketBlockBreakEffects(long[] positions, int[] stateIds) {
+		this.positions = positions;
+		this.stateIds = stateIds;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		int count = buf.readUnsignedShort();
+		positions = new long[count];
+		stateIds = new int[count];
+		for (int i = 0; i < count; i++) {
+			positions[i] = buf.readLong();
+			stateIds[i] = buf.readInt();
+		}
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		buf.writeShort(positions.length);
+		for (int i = 0; i < positions.length; i++) {
+			buf.writeLong(positions[i]);
+			buf.writeInt(stateIds[i]);
+		}
+	}
+
+	public static class Handler implements IMessageHandler<PacketBlockBreakEffects, IMessage> {
+		@Override
+		public IMessage onMessage(PacketBlockBreakEffects message, MessageContext ctx) {
+			Minecraft.getMinecraft().addScheduledTask(() -> {
+				World world = Minecraft.getMinecraft().world;
+				for (int i = 0; i < message.positions.length; i++) {
+					// same as the effect world.destroyBlock plays
+					world.playEvent(2001, BlockPos.fromLong(message.positions[i]), message.stateIds[i]);
+				}
+			});
+
+			return null;
+		}
+	}
+
+}
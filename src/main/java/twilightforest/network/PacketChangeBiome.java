@@ -2,38 +2,71 @@ package twilightforest.network;
 
 import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import twilightforest.client.TFFoliageColorCache;
+import twilightforest.client.TFLockedBiomeCache;
 
+/**
+ * Every biome column that changed in one chunk since the last packet, as a bitmask of the columns and their new ids.
+ */
 public class PacketChangeBiome implements IMessage {
 
-	private BlockPos pos;
-	private byte biomeId;
+	private int chunkX;
+	private int chunkZ;
+	private long[] changedColumns;
+	private byte[] biomeIds;
 
 	public PacketChangeBiome() {
 	}
 
-	public PacketChangeBiome(BlockPos pos, Biome biome) {
-		this.pos = pos;
-		this.biomeId = (byte) Biome.getIdForBiome(biome);
+	/**
+	 * @param changedColumns 256 bits, one for each column of the chunk, indexed the same way as the chunk's biome array
+	 * @param biomeIds       the chunk's biome array, only the changed columns of which are sent
+	 */
+	public PacketChangeBiome(int chunkX, int chunkZ, long[] changedColumns, byte[] biomeIds) {
+		this.chunkX = chunkX;
+		this.chunkZ = chunkZ;
+		this.changedColumns = changedColumns;
+		this.biomeIds = biomeIds;
+	}
+
+	private static boolean isChanged(long[] changedColumns, int column) {
+		return (changedColumns[column >> 6] & 1L << (column & 63)) != 0;
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
-		pos = new BlockPos(buf.readInt(), 0, buf.readInt());
-		biomeId = buf.readByte();
+		chunkX = buf.readInt();
+		chunkZ = buf.readInt();
+		changedColumns = new long[4];
+		for (int i = 0; i < changedColumns.length; i++) {
+			changedColumns[i] = buf.readLong();
+		}
+		biomeIds = new byte[256];
+		for (int column = 0; column < 256; column++) {
+			if (isChanged(changedColumns, column)) {
+				biomeIds[column] = buf.readByte();
+			}
+		}
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-		buf.writeInt(pos.getX());
-		buf.writeInt(pos.getZ());
-		buf.writeByte(biomeId);
+		buf.writeInt(chunkX);
+		buf.writeInt(chunkZ);
+		for (long bits : changedColumns) {
+			buf.writeLong(bits);
+		}
+		for (int column = 0; column < 256; column++) {
+			if (isChanged(changedColumns, column)) {
+				buf.writeByte(biomeIds[column]);
+			}
+		}
 	}
 
 	public static class Handler implements IMessageHandler<PacketChangeBiome, IMessage> {
@@ -44,11 +77,47 @@ public class PacketChangeBiome implements IMessage {
 				@Override
 				public void run() {
 					World world = Minecraft.getMinecraft().world;
-					Chunk chunkAt = world.getChunk(message.pos);
+					Chunk chunkAt = world.getChunk(message.chunkX, message.chunkZ);
+					if (chunkAt.isEmpty()) {
+						return;
+					}
+
+					byte[] biomeArray = chunkAt.getBiomeArray();
+					int minX = 15, minZ = 15, maxX = 0, maxZ = 0;
+					for (int column = 0; column < 256; column++) {
+						if (isChanged(message.changedColumns, column)) {
+							biomeArray[column] = message.biomeIds[column];
+							minX = Math.min(minX, column & 15);
+							maxX = Math.max(maxX, column & 15);
+							minZ = Math.min(minZ, column >> 4);
+							maxZ = Math.max(maxZ, column >> 4);
+						}
+					}
+
+					if (minX > maxX) {
+						return;
+					}
+
+					TFLockedBiomeCache.invalidate(message.chunkX, message.chunkZ);
+					TFFoliageColorCache.invalidate(message.chunkX, message.chunkZ);
 
-					chunkAt.getBiomeArray()[(message.pos.getZ() & 15) << 4 | (message.pos.getX() & 15)] = message.biomeId;
+					// empty sections have nothing to recolour, so only rebuild the sections between the lowest and highest blocks
+					int minY = -1, maxY = -1;
+					ExtendedBlockStorage[] sections = chunkAt.getBlockStorageArray();
+					for (int i = 0; i < sections.length; i++) {
+						if (sections[i] != Chunk.NULL_BLOCK_STORAGE && !sections[i].isEmpty()) {
+							if (minY < 0) {
+								minY = i << 4;
+							}
+							maxY = (i << 4) + 15;
+						}
+					}
 
-					world.markBlockRangeForRenderUpdate(message.pos, message.pos.up(255));
+					if (minY >= 0) {
+						int x = message.chunkX << 4;
+						int z = message.chunkZ << 4;
+						world.markBlockRangeForRenderUpdate(x + minX, minY, z + minZ, x + maxX, maxY, z + maxZ);
+					}
 				}
 			});
 
@@ -0,0 +1,44 @@
+package twilightforest.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import twilightforest.advancements.TFProgression;
+
+public class PacketProgression implements IMessage {
+	private long bits;
+
+	public PacketProgression() {
+	}
+
+	public PacketProgression(long bits) {
+		this.bits = bits;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		bits = buf.readLong();
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		buf.writeLong(bits);
+	}
+
+	public static class Handler implements IMessageHandler<PacketProgression, IMessage> {
+
+		@Override
+		public IMessage onMessage(PacketProgression message, MessageContext ctx) {
+			Minecraft.getMinecraft().addScheduledTask(() -> {
+				if (Minecraft.getMinecraft().player != null) {
+					TFProgression.setClientBits(Minecraft.getMinecraft().player.getUniqueID(), message.bits);
+				}
+			});
+
+			return null;
+		}
+	}
+
+}
@@ -24,6 +24,8 @@ public class TFPacketHandler {
 		CHANNEL.registerMessage(PacketSetSkylightEnabled.Handler.class, PacketSetSkylightEnabled.class, id++, Side.CLIENT);
 
 		CHANNEL.registerMessage(PacketUncraftingGui.Handler.class, PacketUncraftingGui.class, id++, Side.SERVER);
+		CHANNEL.registerMessage(PacketProgression.Handler.class, PacketProgression.class, id++, Side.CLIENT);
+		CHANNEL.registerMessage(PacketBlockBreakEffects.Handler.class, PacketBlockBreakEffects.class, id++, Side.CLIENT);
 	}
 
 }
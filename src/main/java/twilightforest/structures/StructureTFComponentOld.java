@@ -11,9 +11,11 @@ import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.util.text.TextComponentString;
-import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraft.world.gen.structure.StructureBoundingBox;
 import net.minecraft.world.gen.structure.StructureComponent;
 import net.minecraftforge.common.util.BlockSnapshot;
@@ -22,6 +24,7 @@ import twilightforest.loot.TFTreasure;
 import twilightforest.util.StructureBoundingBoxUtils;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -535,15 +538,69 @@ public abstract class StructureTFComponentOld extends StructureTFComponent {
 	 * Nullify all the sky light at the specified positions, using world coordinates
 	 */
 	protected void nullifySkyLight(World world, int sx, int sy, int sz, int dx, int dy, int dz) {
-		for (int x = sx; x <= dx; x++) {
-			for (int z = sz; z <= dz; z++) {
-				for (int y = sy; y <= dy; y++) {
-					world.setLightFor(EnumSkyBlock.SKY, new BlockPos(x, y, z), 0);
+		int minY = Math.max(sy, 0);
+		int maxY = Math.min(dy, world.getHeight() - 1);
+		if (minY > maxY) {
+			return;
+		}
+
+		// write straight into each chunk's light arrays, rather than going through the world for every block
+		for (int cx = sx >> 4; cx <= dx >> 4; cx++) {
+			for (int cz = sz >> 4; cz <= dz >> 4; cz++) {
+				Chunk chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+				if (chunk != null && !chunk.isEmpty()) {
+					int minX = Math.max(sx, cx << 4), maxX = Math.min(dx, (cx << 4) + 15);
+					int minZ = Math.max(sz, cz << 4), maxZ = Math.min(dz, (cz << 4) + 15);
+					nullifySkyLightInChunk(world, chunk, minX & 15, minY, minZ & 15, maxX & 15, maxY, maxZ & 15);
+					world.markBlockRangeForRenderUpdate(minX, minY, minZ, maxX, maxY, maxZ);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Nullify the sky light in part of a chunk, using coordinates within the chunk
+	 */
+	private static void nullifySkyLightInChunk(World world, Chunk chunk, int sx, int sy, int sz, int dx, int dy, int dz) {
+		ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+
+		// missing sections are lit by the sky, so they have to exist to be made dark
+		boolean addedSection = false;
+		for (int i = sy >> 4; i <= dy >> 4; i++) {
+			if (sections[i] == Chunk.NULL_BLOCK_STORAGE) {
+				sections[i] = new ExtendedBlockStorage(i << 4, world.provider.hasSkyLight());
+				addedSection = true;
+			}
+		}
+		if (addedSection) {
+			chunk.generateSkylightMap();
+		}
+
+		for (int i = sy >> 4; i <= dy >> 4; i++) {
+			NibbleArray skyLight = sections[i].getSkyLight();
+			if (skyLight == null) {
+				continue;
+			}
+
+			int minY = Math.max(sy, i << 4) & 15;
+			int maxY = Math.min(dy, (i << 4) + 15) & 15;
+
+			if (sx == 0 && sz == 0 && dx == 15 && dz == 15 && minY == 0 && maxY == 15) {
+				Arrays.fill(skyLight.getData(), (byte) 0);
+			} else {
+				for (int y = minY; y <= maxY; y++) {
+					for (int z = sz; z <= dz; z++) {
+						for (int x = sx; x <= dx; x++) {
+							skyLight.set(x, y, z, 0);
+						}
+					}
+				}
+			}
+		}
+
+		chunk.markDirty();
+	}
+
 	/**
 	 * Discover the y coordinate that will serve as the ground level of the supplied BoundingBox. (A median of all the
 	 * levels in the BB's horizontal rectangle).
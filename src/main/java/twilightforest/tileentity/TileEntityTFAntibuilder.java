@@ -8,17 +8,24 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 import twilightforest.TFConfig;
 import twilightforest.block.BlockTFTowerTranslucent;
 import twilightforest.block.TFBlocks;
 import twilightforest.enums.TowerTranslucentVariant;
+import twilightforest.world.TFBlockWatchers;
+import twilightforest.world.TFWorldEventListener;
 
+import javax.annotation.Nullable;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
-public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
+public class TileEntityTFAntibuilder extends TileEntity implements ITickable, TFBlockWatchers.Watcher {
 	private static final int REVERT_CHANCE = 10;
+	// look over everything once in a while, in case something changed blocks without telling the world listeners
+	private static final int FULL_SCAN_INTERVAL = 200;
 
 	public int radius = 4;
 	public int diameter = 2 * radius + 1;
@@ -29,7 +36,13 @@ public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
 	private boolean slowScan;
 	private int ticksSinceChange;
 
-	private IBlockState[] blockData;
+	// state ids, see Block.getStateId
+	private int[] blockData;
+	// indices into blockData of blocks that may have changed
+	private final BitSet changedBlocks = new BitSet();
+	@Nullable
+	private TFBlockWatchers watchers;
+	private StructureBoundingBox watchedArea;
 
 	@Override
 	public void update() {
@@ -57,6 +70,10 @@ public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
 					this.slowScan = true;
 				}
 
+				if (blockData != null && (watchers == null || this.tickCount % FULL_SCAN_INTERVAL == 0)) {
+					changedBlocks.set(0, blockData.length);
+				}
+
 				if (blockData != null && (!this.slowScan || this.tickCount % 20 == 0)) {
 					if (scanAndRevertChanges()) {
 						this.slowScan = false;
@@ -72,11 +89,56 @@ public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
 			}
 		} else {
 			// remove data
+			stopWatching();
 			this.blockData = null;
 			this.tickCount = 0;
 		}
 	}
 
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		stopWatching();
+	}
+
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		stopWatching();
+	}
+
+	@Override
+	public StructureBoundingBox getWatchedArea() {
+		if (watchedArea == null) {
+			watchedArea = new StructureBoundingBox(pos.add(-radius, -radius, -radius), pos.add(radius, radius, radius));
+		}
+		return watchedArea;
+	}
+
+	@Override
+	public void onBlockChanged(BlockPos changed) {
+		int x = changed.getX() - pos.getX() + radius;
+		int y = changed.getY() - pos.getY() + radius;
+		int z = changed.getZ() - pos.getZ() + radius;
+		changedBlocks.set((x * diameter + y) * diameter + z);
+	}
+
+	private void startWatching() {
+		TFWorldEventListener listener = TFWorldEventListener.get(world);
+		if (listener != null) {
+			watchers = listener.blockWatchers;
+			watchers.add(this);
+		}
+	}
+
+	private void stopWatching() {
+		if (watchers != null) {
+			watchers.remove(this);
+			watchers = null;
+		}
+		changedBlocks.clear();
+	}
+
 
 	/**
 	 * Display a random one of the 12 possible outlines
@@ -199,24 +261,28 @@ public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
 	}
 
 	private boolean scanAndRevertChanges() {
-		int index = 0;
 		boolean reverted = false;
-
-		for (int x = -radius; x <= radius; x++) {
-			for (int y = -radius; y <= radius; y++) {
-				for (int z = -radius; z <= radius; z++) {
-					IBlockState stateThere = world.getBlockState(pos.add(x, y, z));
-
-					if (blockData[index].getBlock() != stateThere.getBlock()) {
-						if (revertBlock(pos.add(x, y, z), stateThere, blockData[index])) {
-							reverted = true;
-						} else {
-							blockData[index] = stateThere;
-						}
-					}
-
-					index++;
+		BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+
+		for (int index = changedBlocks.nextSetBit(0); index >= 0; index = changedBlocks.nextSetBit(index + 1)) {
+			int x = index / (diameter * diameter) - radius;
+			int y = index / diameter % diameter - radius;
+			int z = index % diameter - radius;
+			checkPos.setPos(pos.getX() + x, pos.getY() + y, pos.getZ() + z);
+
+			IBlockState stateThere = world.getBlockState(checkPos);
+			IBlockState stateBefore = Block.getStateById(blockData[index]);
+
+			if (stateBefore.getBlock() != stateThere.getBlock()) {
+				// keep checking blocks that are still waiting to be reverted
+				if (revertBlock(checkPos.toImmutable(), stateThere, stateBefore)) {
+					reverted = true;
+				} else {
+					blockData[index] = Block.getStateId(stateThere);
+					changedBlocks.clear(index);
 				}
+			} else {
+				changedBlocks.clear(index);
 			}
 		}
 
@@ -278,18 +344,22 @@ public class TileEntityTFAntibuilder extends TileEntity implements ITickable {
 	}
 
 	private void captureBlockData() {
-		blockData = new IBlockState[diameter * diameter * diameter];
+		blockData = new int[diameter * diameter * diameter];
 
 		int index = 0;
+		BlockPos.MutableBlockPos capturePos = new BlockPos.MutableBlockPos();
 
 		for (int x = -radius; x <= radius; x++) {
 			for (int y = -radius; y <= radius; y++) {
 				for (int z = -radius; z <= radius; z++) {
-					blockData[index] = world.getBlockState(pos.add(x, y, z));
+					capturePos.setPos(pos.getX() + x, pos.getY() + y, pos.getZ() + z);
+					blockData[index] = Block.getStateId(world.getBlockState(capturePos));
 					index++;
 				}
 			}
 		}
+
+		startWatching();
 	}
 
 	private boolean anyPlayerInRange() {
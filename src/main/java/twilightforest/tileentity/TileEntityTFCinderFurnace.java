@@ -12,15 +12,28 @@ import net.minecraft.tileentity.TileEntityFurnace;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraftforge.oredict.OreDictionary;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 import twilightforest.block.BlockTFCinderFurnace;
 import twilightforest.block.BlockTFCinderLog;
 import twilightforest.block.TFBlocks;
+import twilightforest.util.TFOreTable;
+import twilightforest.world.TFBlockWatchers;
+import twilightforest.world.TFWorldEventListener;
 
 import java.util.Random;
 
-public class TileEntityTFCinderFurnace extends TileEntityFurnace {
+public class TileEntityTFCinderFurnace extends TileEntityFurnace implements TFBlockWatchers.Watcher {
 	private static final int SMELT_LOG_FACTOR = 10;
+	// count everything again once in a while, in case something changed blocks without telling the world listeners
+	private static final int FULL_COUNT_INTERVAL = 200;
+
+	/**
+	 * One bit for each of the 27 blocks around and including the furnace, set for cinder logs
+	 */
+	private int nearbyLogs;
+	private boolean nearbyLogsCounted;
+	private TFBlockWatchers watchers;
+	private StructureBoundingBox watchedArea;
 
 	// [VanillaCopy] of superclass, edits noted
 	@Override
@@ -33,6 +46,11 @@ public class TileEntityTFCinderFurnace extends TileEntityFurnace {
 		}
 
 		if (!this.world.isRemote) {
+			// TF - recount nearby logs now and then
+			if (this.world.getTotalWorldTime() % FULL_COUNT_INTERVAL == 0) {
+				this.nearbyLogsCounted = false;
+			}
+
 			ItemStack itemstack = (ItemStack) this.furnaceItemStacks.get(1);
 
 			if (this.isBurning() || !itemstack.isEmpty() && !((ItemStack) this.furnaceItemStacks.get(0)).isEmpty()) {
@@ -100,7 +118,7 @@ public class TileEntityTFCinderFurnace extends TileEntityFurnace {
 		if (this.world.isBlockLoaded(pos)) {
 			Block nearbyBlock = this.getWorld().getBlockState(pos).getBlock();
 
-			if (nearbyBlock != TFBlocks.cinder_log && this.isLog(nearbyBlock)) {
+			if (nearbyBlock != TFBlocks.cinder_log && TFOreTable.isLog(nearbyBlock)) {
 				this.getWorld().setBlockState(pos, TFBlocks.cinder_log.getDefaultState().withProperty(BlockTFCinderLog.LOG_AXIS, getCinderFacing(dx, dy, dz)), 2);
 				this.getWorld().playEvent(2004, pos, 0);
 				this.getWorld().playEvent(2004, pos, 0);
@@ -125,17 +143,6 @@ public class TileEntityTFCinderFurnace extends TileEntityFurnace {
 
 	}
 
-	private boolean isLog(Block nearbyBlock) {
-		int[] oreIDs = OreDictionary.getOreIDs(new ItemStack(nearbyBlock));
-		for (int id : oreIDs) {
-			if (id == OreDictionary.getOreID("logWood")) {
-				return true;
-			}
-		}
-
-		return false;
-	}
-
 	/**
 	 * What is the current speed multiplier, as an int.
 	 */
@@ -157,20 +164,77 @@ public class TileEntityTFCinderFurnace extends TileEntityFurnace {
 	}
 
 	private int countNearbyLogs() {
-		int count = 0;
-
-		for (int dx = -1; dx <= 1; dx++) {
-			for (int dy = -1; dy <= 1; dy++) {
-				for (int dz = -1; dz <= 1; dz++) {
-					BlockPos pos = getPos().add(dx, dy, dz);
-					if (this.world.isBlockLoaded(pos) && this.getWorld().getBlockState(pos).getBlock() == TFBlocks.cinder_log) {
-						count++;
+		if (watchers == null) {
+			startWatching();
+			nearbyLogsCounted = false;
+		}
+
+		if (!nearbyLogsCounted) {
+			nearbyLogs = 0;
+			for (int dx = -1; dx <= 1; dx++) {
+				for (int dy = -1; dy <= 1; dy++) {
+					for (int dz = -1; dz <= 1; dz++) {
+						updateNearbyLog(getPos().add(dx, dy, dz));
 					}
 				}
 			}
+			// without anyone to tell us about changes, count again next time
+			nearbyLogsCounted = watchers != null;
+		}
+
+		return Integer.bitCount(nearbyLogs);
+	}
+
+	private void updateNearbyLog(BlockPos pos) {
+		int bit = 1 << ((pos.getX() - getPos().getX() + 1) * 9 + (pos.getY() - getPos().getY() + 1) * 3 + (pos.getZ() - getPos().getZ() + 1));
+		if (this.world.isBlockLoaded(pos) && this.getWorld().getBlockState(pos).getBlock() == TFBlocks.cinder_log) {
+			nearbyLogs |= bit;
+		} else {
+			nearbyLogs &= ~bit;
 		}
+	}
 
-		return count;
+	@Override
+	public StructureBoundingBox getWatchedArea() {
+		if (watchedArea == null) {
+			watchedArea = new StructureBoundingBox(getPos().add(-1, -1, -1), getPos().add(1, 1, 1));
+		}
+		return watchedArea;
+	}
+
+	@Override
+	public void onBlockChanged(BlockPos pos) {
+		if (nearbyLogsCounted) {
+			updateNearbyLog(pos);
+		}
+	}
+
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		stopWatching();
+	}
+
+	@Override
+	public void onChunkUnload() {
+		super.onChunkUnload();
+		stopWatching();
+	}
+
+	private void startWatching() {
+		TFWorldEventListener listener = TFWorldEventListener.get(world);
+		if (listener != null) {
+			watchers = listener.blockWatchers;
+			watchers.add(this);
+		}
+	}
+
+	private void stopWatching() {
+		if (watchers != null) {
+			watchers.remove(this);
+			watchers = null;
+		}
+		nearbyLogsCounted = false;
 	}
 
 	// [VanillaCopy] of superclass ver, changes noted
@@ -227,14 +291,7 @@ public class TileEntityTFCinderFurnace extends TileEntityFurnace {
 	}
 
 	private boolean canMultiply(ItemStack input, ItemStack output) {
-		int[] oreIDs = OreDictionary.getOreIDs(input);
-		for (int id : oreIDs) {
-			if (OreDictionary.getOreName(id).startsWith("ore") || id == OreDictionary.getOreID("logWood")) {
-				return true;
-			}
-		}
-
-		return false;
+		return TFOreTable.isOre(input) || TFOreTable.isLog(input);
 	}
 
 	/**
@@ -0,0 +1,151 @@
+package twilightforest.util;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.MapColor;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.oredict.OreDictionary;
+import twilightforest.TwilightForestMod;
+
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Which block states and items are ores, and which items are logs, worked out once from the ore dictionary instead of
+ * poking at registry names or making item stacks for every block.
+ * Thrown away and rebuilt whenever something new is registered to the ore dictionary.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public final class TFOreTable {
+
+	private static volatile Tables tables;
+
+	private TFOreTable() {}
+
+	private static final class Tables {
+		private final Map<IBlockState, MapColor> oreColors = new IdentityHashMap<>();
+		// items by id and metadata, see getItemKey
+		private final LongSet oreItems = new LongOpenHashSet();
+		private final LongSet logItems = new LongOpenHashSet();
+	}
+
+	public static boolean isOre(IBlockState state) {
+		return getTables().oreColors.containsKey(state);
+	}
+
+	/**
+	 * @return The colour ore maps show this ore as, or null if it isn't an ore
+	 */
+	@Nullable
+	public static MapColor getOreMapColor(IBlockState state) {
+		return getTables().oreColors.get(state);
+	}
+
+	/**
+	 * Is this item registered under any ore name?
+	 */
+	public static boolean isOre(ItemStack stack) {
+		return contains(getTables().oreItems, stack.getItem(), stack.getMetadata());
+	}
+
+	/**
+	 * Is this item registered as "logWood"?
+	 */
+	public static boolean isLog(ItemStack stack) {
+		return contains(getTables().logItems, stack.getItem(), stack.getMetadata());
+	}
+
+	/**
+	 * Is this block's item registered as "logWood"?
+	 */
+	public static boolean isLog(Block block) {
+		return contains(getTables().logItems, Item.getItemFromBlock(block), 0);
+	}
+
+	private static boolean isOreName(String name) {
+		return name.startsWith("ore");
+	}
+
+	private static boolean contains(LongSet items, Item item, int meta) {
+		return item != Items.AIR && (items.contains(getItemKey(item, meta)) || items.contains(getItemKey(item, OreDictionary.WILDCARD_VALUE)));
+	}
+
+	private static long getItemKey(Item item, int meta) {
+		return (long) Item.getIdFromItem(item) << 32 | meta & 0xFFFFFFFFL;
+	}
+
+	private static Tables getTables() {
+		Tables current = tables;
+		if (current == null) {
+			tables = current = buildTables();
+		}
+		return current;
+	}
+
+	private static Tables buildTables() {
+		Tables built = new Tables();
+
+		for (String name : OreDictionary.getOreNames()) {
+			boolean isOre = isOreName(name);
+			boolean isLog = name.equals("logWood");
+			if (!isOre && !isLog) {
+				continue;
+			}
+
+			for (ItemStack stack : OreDictionary.getOres(name, false)) {
+				if (stack.isEmpty()) {
+					continue;
+				}
+
+				long key = getItemKey(stack.getItem(), stack.getMetadata());
+				if (isLog) {
+					built.logItems.add(key);
+				}
+				if (!isOre) {
+					continue;
+				}
+				built.oreItems.add(key);
+
+				// any other ore, catchall
+				Block block = Block.getBlockFromItem(stack.getItem());
+				if (block != Blocks.AIR) {
+					for (IBlockState state : block.getBlockState().getValidStates()) {
+						if (stack.getMetadata() == OreDictionary.WILDCARD_VALUE || block.getMetaFromState(state) == stack.getMetadata()) {
+							built.oreColors.put(state, MapColor.PINK);
+						}
+					}
+				}
+			}
+		}
+
+		putAll(built.oreColors, Blocks.COAL_ORE, MapColor.BLACK);
+		putAll(built.oreColors, Blocks.GOLD_ORE, MapColor.GOLD);
+		putAll(built.oreColors, Blocks.IRON_ORE, MapColor.IRON);
+		putAll(built.oreColors, Blocks.LAPIS_ORE, MapColor.LAPIS);
+		putAll(built.oreColors, Blocks.REDSTONE_ORE, MapColor.RED);
+		putAll(built.oreColors, Blocks.LIT_REDSTONE_ORE, MapColor.RED);
+		putAll(built.oreColors, Blocks.DIAMOND_ORE, MapColor.DIAMOND);
+		putAll(built.oreColors, Blocks.EMERALD_ORE, MapColor.EMERALD);
+
+		return built;
+	}
+
+	private static void putAll(Map<IBlockState, MapColor> colors, Block block, MapColor color) {
+		for (IBlockState state : block.getBlockState().getValidStates()) {
+			colors.put(state, color);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onOreRegistered(OreDictionary.OreRegisterEvent event) {
+		tables = null;
+	}
+}
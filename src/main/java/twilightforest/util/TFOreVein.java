@@ -0,0 +1,62 @@
+package twilightforest.util;
+
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Finds the blocks of an ore vein, as packed positions, without recursing or making a BlockPos per block looked at.
+ */
+public final class TFOreVein {
+
+	private TFOreVein() {}
+
+	/**
+	 * @return The positions, as {@link BlockPos#toLong()}, of up to maxSize blocks of the state connected to the start
+	 * through their faces, nearest first. Empty if the start isn't that state.
+	 */
+	public static LongSet find(World world, BlockPos start, IBlockState oreState, int maxSize) {
+		LongSet vein = new LongLinkedOpenHashSet(maxSize);
+		if (maxSize <= 0 || world.getBlockState(start) != oreState) {
+			return vein;
+		}
+
+		// every block in the vein goes through the queue exactly once, so it can't need more room than this
+		int[] queue = new int[maxSize * 3];
+		int head = 0;
+		int tail = 0;
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		vein.add(start.toLong());
+		queue[tail++] = start.getX();
+		queue[tail++] = start.getY();
+		queue[tail++] = start.getZ();
+
+		while (head < tail && vein.size() < maxSize) {
+			int x = queue[head++];
+			int y = queue[head++];
+			int z = queue[head++];
+
+			for (EnumFacing facing : EnumFacing.VALUES) {
+				pos.setPos(x + facing.getXOffset(), y + facing.getYOffset(), z + facing.getZOffset());
+				long key = pos.toLong();
+
+				if (!vein.contains(key) && world.getBlockState(pos) == oreState) {
+					vein.add(key);
+					queue[tail++] = pos.getX();
+					queue[tail++] = pos.getY();
+					queue[tail++] = pos.getZ();
+
+					if (vein.size() >= maxSize) {
+						break;
+					}
+				}
+			}
+		}
+
+		return vein;
+	}
+}
@@ -42,10 +42,11 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 	protected final World world;
 	protected final WorldType terrainType;
 
-	private double[] mainNoiseRegion;
-	private double[] minLimitRegion;
-	private double[] maxLimitRegion;
-	private double[] depthRegion;
+	/**
+	 * Noise for chunks that weren't worked out in advance, only used on the server thread
+	 */
+	private final TerrainNoise serialNoise = new TerrainNoise();
+	private final TFTerrainPregenerator pregenerator = new TFTerrainPregenerator(this);
 
 	protected double[] depthBuffer = new double[256];
 	protected Biome[] biomesForGeneration;
@@ -57,6 +58,17 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 
 	private final boolean shouldGenerateBedrock;
 
+	/**
+	 * The noise that a chunk's terrain heights are made from. It only depends on the seed and the chunk position, so it
+	 * can be worked out away from the server thread before the chunk is needed.
+	 */
+	static final class TerrainNoise {
+		private double[] mainNoiseRegion;
+		private double[] minLimitRegion;
+		private double[] maxLimitRegion;
+		private double[] depthRegion;
+	}
+
 	protected static long getSeed(int x, int z) {
 		return x * 0x4f9939f508L + z * 0x1ef1565bd5L;
 	}
@@ -90,10 +102,15 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 		}
 	}
 
-	protected final void generateFeatures(int x, int z, ChunkPrimer primer) {
-		for (TFFeature feature : TFFeature.values()) {
-			if (feature != TFFeature.NOTHING) {
-				feature.getFeatureGenerator().generate(world, x, z, primer);
+	protected final void generateFeatures(int x, int z, @Nullable ChunkPrimer primer) {
+		// each feature region can only start one structure, so work out which feature that is for each region in
+		// range of this chunk and go straight to its generator, instead of having every feature search the area
+		for (int regionX = x >> 4; regionX <= (x + 16) >> 4; regionX++) {
+			for (int regionZ = z >> 4; regionZ <= (z + 16) >> 4; regionZ++) {
+				TFFeatureCache.Entry region = TFFeature.getRegion(regionX, regionZ, world);
+				if (region.feature != TFFeature.NOTHING) {
+					region.feature.getFeatureGenerator().generateStructureStartAt(world, region.centerChunkX, region.centerChunkZ, x, z, primer);
+				}
 			}
 		}
 	}
@@ -119,7 +136,7 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 
 		byte seaLevel = 63;
 		this.biomesForGeneration = this.world.getBiomeProvider().getBiomesForGeneration(this.biomesForGeneration, x * 4 - 2, z * 4 - 2, 10, 10);
-		this.generateHeightmap(x * 4, 0, z * 4);
+		this.generateHeightmap(x, z);
 
 		for (int k = 0; k < 4; ++k) {
 			int l = k * 5;
@@ -177,12 +194,33 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 		}
 	}
 
-	private void generateHeightmap(int x, int zero, int z) {
+	public TFTerrainPregenerator getTerrainPregenerator() {
+		return pregenerator;
+	}
+
+	/**
+	 * Fills in the terrain noise for a chunk. Only reads the noise generators, so it's safe to call from any thread
+	 * as long as each thread has its own noise to fill.
+	 */
+	final TerrainNoise generateTerrainNoise(TerrainNoise noise, int chunkX, int chunkZ) {
+		int x = chunkX * 4;
+		int zero = 0;
+		int z = chunkZ * 4;
+
+		noise.depthRegion = this.depthNoise.generateNoiseOctaves(noise.depthRegion, x, z, 5, 5, 200.0D, 200.0D, 0.5D);
+		noise.mainNoiseRegion = this.mainPerlinNoise.generateNoiseOctaves(noise.mainNoiseRegion, x, zero, z, 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
+		noise.minLimitRegion = this.minLimitPerlinNoise.generateNoiseOctaves(noise.minLimitRegion, x, zero, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+		noise.maxLimitRegion = this.maxLimitPerlinNoise.generateNoiseOctaves(noise.maxLimitRegion, x, zero, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+		return noise;
+	}
+
+	private void generateHeightmap(int chunkX, int chunkZ) {
+
+		TerrainNoise noise = pregenerator.take(chunkX, chunkZ);
+		if (noise == null) {
+			noise = generateTerrainNoise(serialNoise, chunkX, chunkZ);
+		}
 
-		this.depthRegion = this.depthNoise.generateNoiseOctaves(this.depthRegion, x, z, 5, 5, 200.0D, 200.0D, 0.5D);
-		this.mainNoiseRegion = this.mainPerlinNoise.generateNoiseOctaves(this.mainNoiseRegion, x, zero, z, 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
-		this.minLimitRegion = this.minLimitPerlinNoise.generateNoiseOctaves(this.minLimitRegion, x, zero, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
-		this.maxLimitRegion = this.maxLimitPerlinNoise.generateNoiseOctaves(this.maxLimitRegion, x, zero, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
 		int terrainIndex = 0;
 		int noiseIndex = 0;
 
@@ -221,7 +259,7 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 				totalHeight /= totalFactor;
 				totalVariation = totalVariation * 0.9F + 0.1F;
 				totalHeight = (totalHeight * 4.0F - 1.0F) / 8.0F;
-				double terrainNoise = this.depthRegion[noiseIndex] / 8000.0D;
+				double terrainNoise = noise.depthRegion[noiseIndex] / 8000.0D;
 
 				if (terrainNoise < 0.0D) {
 					terrainNoise = -terrainNoise * 0.3D;
@@ -260,9 +298,9 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 						d6 *= 4.0D;
 					}
 
-					double d7 = this.minLimitRegion[terrainIndex] / 512.0D;
-					double d8 = this.maxLimitRegion[terrainIndex] / 512.0D;
-					double d9 = (this.mainNoiseRegion[terrainIndex] / 10.0D + 1.0D) / 2.0D;
+					double d7 = noise.minLimitRegion[terrainIndex] / 512.0D;
+					double d8 = noise.maxLimitRegion[terrainIndex] / 512.0D;
+					double d9 = (noise.mainNoiseRegion[terrainIndex] / 10.0D + 1.0D) / 2.0D;
 					double terrainCalc = MathHelper.clampedLerp(d7, d8, d9) - d6;
 
 					if (ay > 29) {
@@ -697,7 +735,7 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 		}
 		TFFeature feature = TFFeature.getFeatureByName(new ResourceLocation(structureName));
 		if (feature != TFFeature.NOTHING) {
-			return TFFeature.findNearestFeaturePosBySpacing(world, feature, position, 20, 11, 10387313, true, 100, findUnexplored);
+			return TFFeatureLocator.findNearest(world, feature, position, findUnexplored);
 		}
 		return null;
 	}
@@ -750,11 +788,7 @@ public abstract class ChunkGeneratorTFBase implements IChunkGenerator {
 
 	@Override
 	public void recreateStructures(Chunk chunk, int x, int z) {
-		for (TFFeature feature : TFFeature.values()) {
-			if (feature != TFFeature.NOTHING) {
-				feature.getFeatureGenerator().generate(world, x, z, null);
-			}
-		}
+		generateFeatures(x, z, null);
 	}
 
 	@Override
@@ -21,6 +21,7 @@ import twilightforest.TFConfig;
 import twilightforest.TFFeature;
 import twilightforest.biomes.TFBiomes;
 import twilightforest.block.TFBlocks;
+import twilightforest.world.feature.TFDeferredBlockWriter;
 
 import java.util.BitSet;
 
@@ -62,8 +63,8 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 		deformTerrainForFeature(x, z, primer);
 		replaceBiomeBlocks(x, z, primer, biomesForGeneration);
 
-		caveGenerator.generate(world, x, z, primer);
-		ravineGenerator.generate(world, x, z, primer);
+		caveGenerator.generate(world, x, z, primer, biomesForGeneration);
+		ravineGenerator.generate(world, x, z, primer, biomesForGeneration);
 		generateFeatures(x, z, primer);
 		hollowTreeGenerator.generate(world, x, z, primer);
 
@@ -146,6 +147,15 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 			}
 		}
 
+		// make sure we're not too close to the tower, which is the same for every column in the chunk
+		int[] towerCenter = null;
+		if (TFFeature.getNearestFeature(chunkX, chunkZ, world) == TFFeature.DARK_TOWER) {
+			towerCenter = TFFeature.getNearestCenter(chunkX, chunkZ, world);
+		}
+
+		float[] thicknesses = new float[256];
+		boolean anyForest = false;
+
 		for (int z = 0; z < 16; z++) {
 			for (int x = 0; x < 16; x++) {
 
@@ -166,13 +176,10 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 
 				//int thickness = thicks[qz + (qz) * 5];
 
-				// make sure we're not too close to the tower
-				TFFeature nearFeature = TFFeature.getNearestFeature(chunkX, chunkZ, world);
-				if (nearFeature == TFFeature.DARK_TOWER) {
+				if (towerCenter != null) {
 					// check for closeness
-					int[] nearCenter = TFFeature.getNearestCenter(chunkX, chunkZ, world);
-					int hx = nearCenter[0];
-					int hz = nearCenter[1];
+					int hx = towerCenter[0];
+					int hz = towerCenter[1];
 
 					int dx = x - hx;
 					int dz = z - hz;
@@ -184,12 +191,27 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 					}
 				}
 
+				thicknesses[x | z << 4] = thickness;
+				anyForest |= thickness > 1;
+			}
+		}
+
+		if (!anyForest) {
+			return;
+		}
+
+		double d = 0.03125D;
+		depthBuffer = noiseGen4.generateNoiseOctaves(depthBuffer, chunkX * 16, chunkZ * 16, 0, 16, 16, 1, d * 2D, d * 2D, d * 2D);
+
+		IBlockState leaves = TFBlocks.dark_leaves.getDefaultState();
+
+		for (int z = 0; z < 16; z++) {
+			for (int x = 0; x < 16; x++) {
+
+				float thickness = thicknesses[x | z << 4];
 				boolean generateForest = thickness > 1;
 
 				if (generateForest) {
-					double d = 0.03125D;
-					depthBuffer = noiseGen4.generateNoiseOctaves(depthBuffer, chunkX * 16, chunkZ * 16, 0, 16, 16, 1, d * 2D, d * 2D, d * 2D);
-
 					// find the (current) top block
 					int topLevel = -1;
 					for (int y = 127; y >= 0; y--) {
@@ -216,7 +238,7 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 						treeBottom -= noise;
 
 						for (int y = treeBottom; y < treeTop; y++) {
-							primer.setBlockState(x, y, z, TFBlocks.dark_leaves.getDefaultState());
+							primer.setBlockState(x, y, z, leaves);
 						}
 					}
 				}
@@ -242,50 +264,56 @@ public class ChunkGeneratorTwilightForest extends ChunkGeneratorTFBase {
 
 		ForgeEventFactory.onChunkPopulate(true, this, this.world, this.rand, x, z, flag);
 
-		boolean disableFeatures = false;
+		// let the big trees skip their light checks until everything's been placed
+		TFDeferredBlockWriter blockWriter = TFDeferredBlockWriter.begin(world);
+		try {
+			boolean disableFeatures = false;
 
-		for (TFFeature feature : TFFeature.values()) {
-			if (feature != TFFeature.NOTHING && feature.getFeatureGenerator().generateStructure(world, rand, chunkpos)) {
-				disableFeatures = true;
+			for (TFFeature feature : TFFeature.values()) {
+				if (feature != TFFeature.NOTHING && feature.getFeatureGenerator().generateStructure(world, rand, chunkpos)) {
+					disableFeatures = true;
+				}
 			}
-		}
 
-		disableFeatures = disableFeatures || !TFFeature.getNearestFeature(x, z, world).areChunkDecorationsEnabled;
+			disableFeatures = disableFeatures || !TFFeature.getNearestFeature(x, z, world).areChunkDecorationsEnabled;
 
-		hollowTreeGenerator.generateStructure(world, rand, chunkpos);
+			hollowTreeGenerator.generateStructure(world, rand, chunkpos);
 
-		if (!disableFeatures && rand.nextInt(4) == 0) {
-			if (TerrainGen.populate(this, this.world, this.rand, x, x, flag, PopulateChunkEvent.Populate.EventType.LAKE)) {
-				int i1 = blockpos.getX() + rand.nextInt(16) + 8;
-				int i2 = rand.nextInt(TFWorld.CHUNKHEIGHT);
-				int i3 = blockpos.getZ() + rand.nextInt(16) + 8;
-				if (i2 < TFWorld.SEALEVEL || allowSurfaceLakes(biome)) {
-					(new WorldGenLakes(Blocks.WATER)).generate(world, rand, new BlockPos(i1, i2, i3));
+			if (!disableFeatures && rand.nextInt(4) == 0) {
+				if (TerrainGen.populate(this, this.world, this.rand, x, x, flag, PopulateChunkEvent.Populate.EventType.LAKE)) {
+					int i1 = blockpos.getX() + rand.nextInt(16) + 8;
+					int i2 = rand.nextInt(TFWorld.CHUNKHEIGHT);
+					int i3 = blockpos.getZ() + rand.nextInt(16) + 8;
+					if (i2 < TFWorld.SEALEVEL || allowSurfaceLakes(biome)) {
+						(new WorldGenLakes(Blocks.WATER)).generate(world, rand, new BlockPos(i1, i2, i3));
+					}
 				}
 			}
-		}
 
-		if (!disableFeatures && rand.nextInt(32) == 0) { // reduced from 8
-			if (TerrainGen.populate(this, this.world, this.rand, x, z, flag, PopulateChunkEvent.Populate.EventType.LAVA)) {
-				int j1 = blockpos.getX() + rand.nextInt(16) + 8;
-				int j2 = rand.nextInt(rand.nextInt(TFWorld.CHUNKHEIGHT - 8) + 8);
-				int j3 = blockpos.getZ() + rand.nextInt(16) + 8;
-				if (j2 < TFWorld.SEALEVEL || allowSurfaceLakes(biome) && rand.nextInt(10) == 0) {
-					(new WorldGenLakes(Blocks.LAVA)).generate(world, rand, new BlockPos(j1, j2, j3));
+			if (!disableFeatures && rand.nextInt(32) == 0) { // reduced from 8
+				if (TerrainGen.populate(this, this.world, this.rand, x, z, flag, PopulateChunkEvent.Populate.EventType.LAVA)) {
+					int j1 = blockpos.getX() + rand.nextInt(16) + 8;
+					int j2 = rand.nextInt(rand.nextInt(TFWorld.CHUNKHEIGHT - 8) + 8);
+					int j3 = blockpos.getZ() + rand.nextInt(16) + 8;
+					if (j2 < TFWorld.SEALEVEL || allowSurfaceLakes(biome) && rand.nextInt(10) == 0) {
+						(new WorldGenLakes(Blocks.LAVA)).generate(world, rand, new BlockPos(j1, j2, j3));
+					}
 				}
 			}
-		}
 
-		if (TerrainGen.populate(this, this.world, this.rand, x, z, flag, PopulateChunkEvent.Populate.EventType.DUNGEON)) {
-			for (int k1 = 0; k1 < 8; k1++) {
-				int k2 = blockpos.getX() + rand.nextInt(16) + 8;
-				int k3 = rand.nextInt(TFWorld.CHUNKHEIGHT);
-				int l3 = blockpos.getZ() + rand.nextInt(16) + 8;
-				(new WorldGenDungeons()).generate(world, rand, new BlockPos(k2, k3, l3));
+			if (TerrainGen.populate(this, this.world, this.rand, x, z, flag, PopulateChunkEvent.Populate.EventType.DUNGEON)) {
+				for (int k1 = 0; k1 < 8; k1++) {
+					int k2 = blockpos.getX() + rand.nextInt(16) + 8;
+					int k3 = rand.nextInt(TFWorld.CHUNKHEIGHT);
+					int l3 = blockpos.getZ() + rand.nextInt(16) + 8;
+					(new WorldGenDungeons()).generate(world, rand, new BlockPos(k2, k3, l3));
+				}
 			}
-		}
 
-		biome.decorate(this.world, this.rand, new BlockPos(i, 0, j));
+			biome.decorate(this.world, this.rand, new BlockPos(i, 0, j));
+		} finally {
+			blockWriter.flush();
+		}
 
 		if (TerrainGen.populate(this, this.world, this.rand, x, z, flag, PopulateChunkEvent.Populate.EventType.ANIMALS)) {
 			WorldEntitySpawner.performWorldGenSpawning(this.world, biome, i + 8, j + 8, 16, 16, this.rand);
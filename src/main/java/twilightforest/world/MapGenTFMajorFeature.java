@@ -5,6 +5,7 @@ import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.EntitySelectors;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.structure.MapGenStructure;
 import net.minecraft.world.gen.structure.StructureBoundingBox;
 import net.minecraft.world.gen.structure.StructureComponent;
@@ -25,6 +26,7 @@ import static twilightforest.TFFeature.NOTHING;
 
 public class MapGenTFMajorFeature extends MapGenStructure {
     private final TFFeature FEATURE;
+    private final TFStructureIndex structureIndex = new TFStructureIndex();
 
     public MapGenTFMajorFeature() {
         this.FEATURE = NOTHING;
@@ -48,7 +50,7 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     @Override
     public BlockPos getNearestStructurePos(World worldIn, BlockPos pos, boolean findUnexplored) {
         this.world = worldIn;
-        return findNearestStructurePosBySpacing(worldIn, this, pos, 20, 11, 10387313, true, 100, findUnexplored);
+        return TFFeatureLocator.findNearest(worldIn, this.getFeature(), pos, findUnexplored);
     }
 
     @Override
@@ -56,6 +58,19 @@ public class MapGenTFMajorFeature extends MapGenStructure {
         return FEATURE.isStructureEnabled && TFFeature.getFeatureDirectlyAt(chunkX, chunkZ, world) == FEATURE;
     }
 
+    /**
+     * Does what {@link #generate} does for the chunk, but only looks at the one chunk where this feature could start a
+     * structure, instead of every chunk in range of it.
+     */
+    public void generateStructureStartAt(World world, int startChunkX, int startChunkZ, int chunkX, int chunkZ, @Nullable ChunkPrimer primer) {
+        if (Math.abs(startChunkX - chunkX) > this.range || Math.abs(startChunkZ - chunkZ) > this.range) {
+            return;
+        }
+
+        this.world = world;
+        this.recursiveGenerate(world, startChunkX, startChunkZ, chunkX, chunkZ, primer);
+    }
+
     @Override
     protected StructureStart getStructureStart(int chunkX, int chunkZ) {
         // fix rand
@@ -74,27 +89,27 @@ public class MapGenTFMajorFeature extends MapGenStructure {
         return this.getFeature().provideStructureStart(world, rand, chunkX, chunkZ);
     }
 
+    private TFStructureIndex getStructureIndex() {
+        structureIndex.sync(this.structureMap);
+        return structureIndex;
+    }
+
     /**
      * Returns true if the structure generator has generated a structure located at the given position tuple.
      */
     public int getSpawnListIndexAt(BlockPos pos) {
         int highestFoundIndex = -1;
 
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ())) {
-
-                for (StructureComponent component : start.getComponents()) {
-                    if (component.getBoundingBox().isVecInside(pos)) {
-                        if (component instanceof StructureTFComponent) {
-                            StructureTFComponent tfComponent = (StructureTFComponent) component;
+        for (StructureComponent component : getStructureIndex().getComponentsAt(pos.getX(), pos.getZ())) {
+            if (component.getBoundingBox().isVecInside(pos)) {
+                if (component instanceof StructureTFComponent) {
+                    StructureTFComponent tfComponent = (StructureTFComponent) component;
 
-                            if (tfComponent.spawnListIndex > highestFoundIndex) {
-                                highestFoundIndex = tfComponent.spawnListIndex;
-                            }
-                        } else {
-                            return 0;
-                        }
+                    if (tfComponent.spawnListIndex > highestFoundIndex) {
+                        highestFoundIndex = tfComponent.spawnListIndex;
                     }
+                } else {
+                    return 0;
                 }
             }
         }
@@ -109,14 +124,9 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     public StructureBoundingBox getSBBAt(BlockPos pos) {
         StructureBoundingBox boxFound = null;
 
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ())) {
-
-                for (StructureComponent component : start.getComponents()) {
-                    if (component.getBoundingBox().isVecInside(pos)) {
-                        boxFound = component.getBoundingBox();
-                    }
-                }
+        for (StructureComponent component : getStructureIndex().getComponentsAt(pos.getX(), pos.getZ())) {
+            if (component.getBoundingBox().isVecInside(pos)) {
+                boxFound = component.getBoundingBox();
             }
         }
 
@@ -124,12 +134,10 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     }
 
     public TFFeature getFeatureAt(BlockPos pos) {
-        for (StructureStart start : this.structureMap.values())
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ()))
-                for (StructureComponent component : start.getComponents())
-                    if (component.getBoundingBox().isVecInside(pos))
-                        if (component instanceof StructureTFComponent)
-                            return ((StructureTFComponent) component).getFeatureType();
+        for (StructureComponent component : getStructureIndex().getComponentsAt(pos.getX(), pos.getZ()))
+            if (component.getBoundingBox().isVecInside(pos))
+                if (component instanceof StructureTFComponent)
+                    return ((StructureTFComponent) component).getFeatureType();
         return NOTHING;
     }
 
@@ -139,24 +147,19 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     public boolean isBlockProtectedAt(BlockPos pos) {
         boolean blockProtected = false;
 
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ())) {
+        for (StructureComponent component : getStructureIndex().getComponentsAt(pos.getX(), pos.getZ())) {
+            if (component.getBoundingBox().isVecInside(pos)) {
 
-                for (StructureComponent component : start.getComponents()) {
-                    if (component.getBoundingBox().isVecInside(pos)) {
+                if (component instanceof StructureTFComponent) {
+                    StructureTFComponent tfComp = (StructureTFComponent) component;
 
-                        if (component instanceof StructureTFComponent) {
-                            StructureTFComponent tfComp = (StructureTFComponent) component;
+                    blockProtected = tfComp.isComponentProtected();
 
-                            blockProtected = tfComp.isComponentProtected();
-
-                        } else {
-                            blockProtected = true;
-                        }
-
-                        // check if it's a twilight forest component, then check if it's protected
-                    }
+                } else {
+                    blockProtected = true;
                 }
+
+                // check if it's a twilight forest component, then check if it's protected
             }
         }
 
@@ -164,8 +167,8 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     }
 
     public void setStructureConquered(int mapX, int mapY, int mapZ, boolean flag) {
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
+        for (StructureStart start : getStructureIndex().getStartsAt(mapX, mapZ)) {
+            if (start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
                 if (start instanceof StructureStartTFFeatureAbstract) {
                     StructureStartTFFeatureAbstract featureStart = (StructureStartTFFeatureAbstract) start;
                     featureStart.isConquered = flag;
@@ -189,8 +192,8 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     public boolean isStructureConquered(BlockPos pos) {
         boolean conquered = false;
 
-        for (StructureStart start : this.structureMap.values())
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ()))
+        for (StructureStart start : getStructureIndex().getStartsAt(pos.getX(), pos.getZ()))
+            if (start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ()))
                 if (start instanceof StructureStartTFFeatureAbstract)
                     conquered = ((StructureStartTFFeatureAbstract) start).isConquered;
 
@@ -203,8 +206,8 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     public boolean isStructureLocked(BlockPos pos, int lockIndex) {
         boolean locked = false;
 
-        for (StructureStart start : this.structureMap.values())
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ()))
+        for (StructureStart start : getStructureIndex().getStartsAt(pos.getX(), pos.getZ()))
+            if (start.getBoundingBox().intersectsWith(pos.getX(), pos.getZ(), pos.getX(), pos.getZ()))
                 if (start instanceof StructureStartTFFeatureAbstract)
                     locked = ((StructureStartTFFeatureAbstract) start).isLocked(lockIndex);
 
@@ -215,8 +218,8 @@ public class MapGenTFMajorFeature extends MapGenStructure {
      * Do the specified x & z coordinates intersect the full structure?
      */
     public boolean isBlockInFullStructure(int mapX, int mapZ) {
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
+        for (StructureStart start : getStructureIndex().getStartsAt(mapX, mapZ)) {
+            if (start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
                 return true;
             }
         }
@@ -228,12 +231,7 @@ public class MapGenTFMajorFeature extends MapGenStructure {
      */
     public boolean isBlockNearFullStructure(int mapX, int mapZ, int range) {
         StructureBoundingBox rangeBB = new StructureBoundingBox(mapX - range, mapZ - range, mapX + range, mapZ + range);
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(rangeBB)) {
-                return true;
-            }
-        }
-        return false;
+        return getStructureIndex().getStartIntersecting(rangeBB) != null;
     }
 
     /**
@@ -241,8 +239,8 @@ public class MapGenTFMajorFeature extends MapGenStructure {
      */
     @Nullable
     public StructureBoundingBox getFullSBBAt(int mapX, int mapZ) {
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
+        for (StructureStart start : getStructureIndex().getStartsAt(mapX, mapZ)) {
+            if (start.getBoundingBox().intersectsWith(mapX, mapZ, mapX, mapZ)) {
                 return start.getBoundingBox();
             }
         }
@@ -252,11 +250,7 @@ public class MapGenTFMajorFeature extends MapGenStructure {
     @Nullable
     public StructureBoundingBox getFullSBBNear(int mapX, int mapZ, int range) {
         StructureBoundingBox rangeBB = new StructureBoundingBox(mapX - range, mapZ - range, mapX + range, mapZ + range);
-        for (StructureStart start : this.structureMap.values()) {
-            if (start.isSizeableStructure() && start.getBoundingBox().intersectsWith(rangeBB)) {
-                return start.getBoundingBox();
-            }
-        }
-        return null;
+        StructureStart start = getStructureIndex().getStartIntersecting(rangeBB);
+        return start != null ? start.getBoundingBox() : null;
     }
 }
@@ -2,6 +2,7 @@ package twilightforest.world;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.init.Biomes;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.biome.Biome;
 
@@ -13,6 +14,9 @@ import java.util.List;
  * This version allows specifying the grid size, and uses the alternate biome
  * layer used in world generation. Used for magic maps, and supports a centred
  * grid for this purpose.
+ * <p>
+ * Biomes are kept as byte ids, and the arrays are handed out shared, so that
+ * every map looking at the same tile reads the same raster without copying.
  */
 public class TFBiomeCache {
 
@@ -31,14 +35,14 @@ public class TFBiomeCache {
 
 	private final class Entry {
 
-		final Biome[] biomes = new Biome[gridSize * gridSize];
+		final byte[] biomeIds = new byte[gridSize * gridSize];
 		final int x, z;
 		long lastAccessTime;
 
 		Entry(int x, int z) {
 			this.x = x;
 			this.z = z;
-			provider.getBiomesForGeneration(biomes, fromGrid(x), fromGrid(z), gridSize, gridSize, false);
+			provider.getBiomeIdsForGeneration(biomeIds, fromGrid(x), fromGrid(z), gridSize, gridSize);
 		}
 	}
 
@@ -62,7 +66,19 @@ public class TFBiomeCache {
 	}
 
 	public Biome[] getBiomes(int x, int z) {
-		return getEntry(x, z).biomes;
+		byte[] biomeIds = getBiomeIds(x, z);
+		Biome[] biomes = new Biome[biomeIds.length];
+		for (int i = 0; i < biomeIds.length; i++) {
+			biomes[i] = Biome.getBiome(biomeIds[i] & 255, Biomes.DEFAULT);
+		}
+		return biomes;
+	}
+
+	/**
+	 * @return The shared biome id raster for the grid cell. Do not modify it.
+	 */
+	public byte[] getBiomeIds(int x, int z) {
+		return getEntry(x, z).biomeIds;
 	}
 
 	public void cleanup() {
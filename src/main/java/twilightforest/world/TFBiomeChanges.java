@@ -0,0 +1,78 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import twilightforest.TwilightForestMod;
+import twilightforest.network.PacketChangeBiome;
+import twilightforest.network.TFPacketHandler;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Biome columns changed on the server, gathered up by chunk and sent to clients once a tick, so that lots of small
+ * changes in an area don't each need their own packet and chunk re-render.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public final class TFBiomeChanges {
+
+	private static final Map<World, Long2ObjectMap<long[]>> PENDING = new WeakHashMap<>();
+
+	private TFBiomeChanges() {}
+
+	/**
+	 * Sends the biome at this position to clients at the end of the tick. The biome should already be set in the chunk.
+	 */
+	public static void markChanged(World world, BlockPos pos) {
+		if (!(world instanceof WorldServer)) {
+			return;
+		}
+
+		Long2ObjectMap<long[]> chunks = PENDING.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>());
+		long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		long[] changedColumns = chunks.get(key);
+		if (changedColumns == null) {
+			changedColumns = new long[4];
+			chunks.put(key, changedColumns);
+		}
+
+		int column = (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+		changedColumns[column >> 6] |= 1L << (column & 63);
+	}
+
+	@SubscribeEvent
+	public static void worldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.world.isRemote) {
+			return;
+		}
+
+		Long2ObjectMap<long[]> chunks = PENDING.remove(event.world);
+		if (chunks == null) {
+			return;
+		}
+
+		int dimension = event.world.provider.getDimension();
+		for (Long2ObjectMap.Entry<long[]> entry : chunks.long2ObjectEntrySet()) {
+			int chunkX = (int) entry.getLongKey();
+			int chunkZ = (int) (entry.getLongKey() >> 32);
+
+			Chunk chunk = event.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+			if (chunk == null) {
+				continue;
+			}
+
+			PacketChangeBiome message = new PacketChangeBiome(chunkX, chunkZ, entry.getValue(), chunk.getBiomeArray().clone());
+			NetworkRegistry.TargetPoint targetPoint = new NetworkRegistry.TargetPoint(dimension, (chunkX << 4) + 8, 0, (chunkZ << 4) + 8, 128);
+			TFPacketHandler.CHANNEL.sendToAllTracking(message, targetPoint);
+		}
+	}
+}
@@ -7,6 +7,7 @@ import net.minecraft.world.gen.layer.GenLayer;
 import net.minecraft.world.gen.layer.GenLayerSmooth;
 import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
 import net.minecraft.world.gen.layer.GenLayerZoom;
+import net.minecraft.world.gen.layer.IntCache;
 import twilightforest.biomes.TFBiomes;
 import twilightforest.world.layer.GenLayerTFBiomeStabilize;
 import twilightforest.world.layer.GenLayerTFBiomes;
@@ -16,11 +17,12 @@ import twilightforest.world.layer.GenLayerTFRiverMix;
 import twilightforest.world.layer.GenLayerTFStream;
 import twilightforest.world.layer.GenLayerTFThornBorder;
 
-import java.util.Arrays;
+import javax.annotation.Nullable;
 
 public class TFBiomeProvider extends BiomeProvider {
 
 	private final TFBiomeCache mapCache;
+	private final TFFeatureCache featureCache;
 
 	public TFBiomeProvider(World world) {
 		getBiomesToSpawnIn().clear();
@@ -32,6 +34,7 @@ public class TFBiomeProvider extends BiomeProvider {
 
 		makeLayers(world.getSeed());
 		mapCache = new TFBiomeCache(this, 512, true);
+		featureCache = new TFFeatureCache(world);
 	}
 
 	private void makeLayers(long seed) {
@@ -73,12 +76,37 @@ public class TFBiomeProvider extends BiomeProvider {
 	public Biome[] getBiomesForGeneration(Biome[] biomes, int x, int z, int width, int height, boolean useCache) {
 		// for grid-centred magic maps, get from map cache
 		if (useCache && mapCache.isGridAligned(x, z, width, height)) {
-			Biome[] cached = mapCache.getBiomes(x, z);
-			return Arrays.copyOf(cached, cached.length);
+			return mapCache.getBiomes(x, z);
 		}
 		return super.getBiomesForGeneration(biomes, x, z, width, height);
 	}
 
+	/**
+	 * Like {@link #getBiomesForGeneration}, but writes compact biome ids instead
+	 */
+	public void getBiomeIdsForGeneration(byte[] biomeIds, int x, int z, int width, int height) {
+		IntCache.resetIntCache();
+		int[] ints = genBiomes.getInts(x, z, width, height);
+
+		for (int i = 0; i < width * height; ++i) {
+			biomeIds[i] = (byte) ints[i];
+		}
+	}
+
+	/**
+	 * For grid-centred magic maps, get the shared biome id raster from the map cache. Do not modify it.
+	 *
+	 * @return null if the area isn't a cached map tile
+	 */
+	@Nullable
+	public byte[] getMapBiomeIds(int x, int z, int width, int height) {
+		return mapCache.isGridAligned(x, z, width, height) ? mapCache.getBiomeIds(x, z) : null;
+	}
+
+	public TFFeatureCache getFeatureCache() {
+		return featureCache;
+	}
+
 	@Override
 	public void cleanupCache() {
 		mapCache.cleanup();
@@ -0,0 +1,210 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.event.ForgeEventFactory;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import twilightforest.network.PacketAnnihilateBlock;
+import twilightforest.network.PacketBlockBreakEffects;
+import twilightforest.network.TFPacketHandler;
+import twilightforest.util.EntityUtil;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Blocks an entity is smashing through, gathered up from all the boxes it wants cleared so that positions covered by
+ * more than one of its parts are only looked at once. Positions are worked through a chunk at a time and read straight
+ * from their section, so empty sections and air are skipped before anything more expensive, and clients get one packet
+ * of break effects for the whole lot.
+ */
+public class TFBlockDestruction {
+
+	/**
+	 * Decides whether a solid block can go
+	 */
+	public interface Rule {
+		boolean canDestroy(World world, BlockPos pos, IBlockState state);
+	}
+
+	private static final Map<Entity, long[]> GRIEFING = new WeakHashMap<>();
+
+	private final Entity entity;
+	private final World world;
+
+	/**
+	 * For each chunk, the blocks in it by their index within the chunk
+	 */
+	private final Long2ObjectLinkedOpenHashMap<IntSet> positions = new Long2ObjectLinkedOpenHashMap<>();
+
+	private boolean dropBlocks;
+	private boolean annihilate;
+	private boolean blocked;
+
+	public TFBlockDestruction(Entity entity) {
+		this.entity = entity;
+		this.world = entity.world;
+	}
+
+	/**
+	 * Asks for the mob griefing rule for the entity at most once a tick, however many times it smashes things
+	 */
+	public static boolean canGrief(Entity entity) {
+		long time = entity.world.getTotalWorldTime();
+		long[] cached = GRIEFING.get(entity);
+		if (cached == null || cached[0] != time) {
+			cached = new long[] { time, ForgeEventFactory.getMobGriefingEvent(entity.world, entity) ? 1 : 0 };
+			GRIEFING.put(entity, cached);
+		}
+		return cached[1] != 0;
+	}
+
+	/**
+	 * Broken blocks drop as items, like world.destroyBlock(pos, true)
+	 */
+	public TFBlockDestruction dropBlocks() {
+		this.dropBlocks = true;
+		return this;
+	}
+
+	/**
+	 * Blocks vanish with the annihilation effect instead of breaking
+	 */
+	public TFBlockDestruction annihilate() {
+		this.annihilate = true;
+		return this;
+	}
+
+	/**
+	 * Adds every block the box touches, with the corners floored like {@link twilightforest.util.WorldUtil#getAllInBB}
+	 */
+	public TFBlockDestruction add(AxisAlignedBB box) {
+		return add(MathHelper.floor(box.minX), MathHelper.floor(box.minY), MathHelper.floor(box.minZ), MathHelper.floor(box.maxX), MathHelper.floor(box.maxY), MathHelper.floor(box.maxZ));
+	}
+
+	/**
+	 * Adds every block between the corners, inclusive
+	 */
+	public TFBlockDestruction add(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+		for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+			for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+				long key = ChunkPos.asLong(cx, cz);
+				IntSet chunkPositions = positions.get(key);
+				if (chunkPositions == null) {
+					chunkPositions = new IntLinkedOpenHashSet();
+					positions.put(key, chunkPositions);
+				}
+
+				for (int y = Math.max(minY, 0); y <= Math.min(maxY, 255); y++) {
+					for (int z = Math.max(minZ, cz << 4); z <= Math.min(maxZ, (cz << 4) + 15); z++) {
+						for (int x = Math.max(minX, cx << 4); x <= Math.min(maxX, (cx << 4) + 15); x++) {
+							chunkPositions.add(y << 8 | (z & 15) << 4 | (x & 15));
+						}
+					}
+				}
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Breaks every added block the entity is allowed to, under the usual {@link EntityUtil#canDestroyBlock} rules
+	 *
+	 * @return How many blocks went
+	 */
+	public int destroy() {
+		return destroy((world, pos, state) -> EntityUtil.canDestroyBlock(world, pos, state, entity));
+	}
+
+	/**
+	 * Breaks every added block the rule allows. Air is never passed to the rule.
+	 *
+	 * @return How many blocks went
+	 */
+	public int destroy(Rule rule) {
+		if (world.isRemote || positions.isEmpty()) {
+			return 0;
+		}
+
+		LongList destroyed = new LongArrayList();
+		IntList destroyedStates = new IntArrayList();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		for (Long2ObjectMap.Entry<IntSet> entry : positions.long2ObjectEntrySet()) {
+			int chunkX = (int) entry.getLongKey();
+			int chunkZ = (int) (entry.getLongKey() >>> 32);
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+			if (chunk == null) {
+				continue;
+			}
+
+			ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+			for (IntIterator it = entry.getValue().iterator(); it.hasNext(); ) {
+				int index = it.nextInt();
+				int x = index & 15, y = index >> 8, z = (index >> 4) & 15;
+
+				// read straight from the section, an empty one is all air
+				ExtendedBlockStorage section = sections[y >> 4];
+				if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) {
+					continue;
+				}
+
+				IBlockState state = section.get(x, y & 15, z);
+				pos.setPos((chunkX << 4) + x, y, (chunkZ << 4) + z);
+				if (state.getBlock().isAir(state, world, pos)) {
+					continue;
+				}
+
+				BlockPos blockPos = pos.toImmutable();
+				if (!rule.canDestroy(world, blockPos, state)) {
+					blocked = true;
+					continue;
+				}
+
+				if (dropBlocks) {
+					state.getBlock().dropBlockAsItem(world, blockPos, state, 0);
+				}
+				world.setBlockState(blockPos, Blocks.AIR.getDefaultState(), 3);
+
+				destroyed.add(blockPos.toLong());
+				destroyedStates.add(Block.getStateId(state));
+			}
+		}
+		positions.clear();
+
+		if (!destroyed.isEmpty()) {
+			IMessage message = annihilate
+					? new PacketAnnihilateBlock(destroyed.toLongArray())
+					: new PacketBlockBreakEffects(destroyed.toLongArray(), destroyedStates.toIntArray());
+			TFPacketHandler.CHANNEL.sendToAllAround(message, new NetworkRegistry.TargetPoint(world.provider.getDimension(), entity.posX, entity.posY, entity.posZ, 64));
+		}
+
+		return destroyed.size();
+	}
+
+	/**
+	 * @return True if a solid block was in the way that the rule wouldn't let go
+	 */
+	public boolean wasBlocked() {
+		return blocked;
+	}
+}
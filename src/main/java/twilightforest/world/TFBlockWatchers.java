@@ -0,0 +1,75 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Things that want to hear about block changes inside an area of the world, looked up by chunk so that a block
+ * change only has to ask the watchers near it.
+ */
+public class TFBlockWatchers {
+
+	public interface Watcher {
+		/**
+		 * @return The area to watch. Must not change while the watcher is added.
+		 */
+		StructureBoundingBox getWatchedArea();
+
+		void onBlockChanged(BlockPos pos);
+	}
+
+	private final Long2ObjectMap<List<Watcher>> watchersByChunk = new Long2ObjectOpenHashMap<>();
+
+	public void add(Watcher watcher) {
+		StructureBoundingBox area = watcher.getWatchedArea();
+		for (int cx = area.minX >> 4; cx <= area.maxX >> 4; cx++) {
+			for (int cz = area.minZ >> 4; cz <= area.maxZ >> 4; cz++) {
+				long key = ChunkPos.asLong(cx, cz);
+				List<Watcher> watchers = watchersByChunk.get(key);
+				if (watchers == null) {
+					watchers = new ArrayList<>(2);
+					watchersByChunk.put(key, watchers);
+				}
+				if (!watchers.contains(watcher)) {
+					watchers.add(watcher);
+				}
+			}
+		}
+	}
+
+	public void remove(Watcher watcher) {
+		StructureBoundingBox area = watcher.getWatchedArea();
+		for (int cx = area.minX >> 4; cx <= area.maxX >> 4; cx++) {
+			for (int cz = area.minZ >> 4; cz <= area.maxZ >> 4; cz++) {
+				long key = ChunkPos.asLong(cx, cz);
+				List<Watcher> watchers = watchersByChunk.get(key);
+				if (watchers != null && watchers.remove(watcher) && watchers.isEmpty()) {
+					watchersByChunk.remove(key);
+				}
+			}
+		}
+	}
+
+	public void onBlockChanged(BlockPos pos) {
+		if (watchersByChunk.isEmpty()) {
+			return;
+		}
+
+		List<Watcher> watchers = watchersByChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+		if (watchers != null) {
+			// watchers may stop watching because of what they hear
+			for (int i = watchers.size() - 1; i >= 0 && i < watchers.size(); i--) {
+				Watcher watcher = watchers.get(i);
+				if (watcher.getWatchedArea().isVecInside(pos)) {
+					watcher.onBlockChanged(pos);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import twilightforest.TFFeature;
+
+/**
+ * Remembers which major feature belongs to each 256x256 feature region, along with the
+ * centre of that region. Resolving a feature costs a biome lookup, and is asked for from
+ * spawning, block protection, the magic map and world generation, often many times for
+ * the same region in a single tick.
+ * <p>
+ * Entries are filled lazily and the least recently used ones are dropped once the cache
+ * is full. Access is synchronized so the cache can be shared with chunk generation.
+ */
+public class TFFeatureCache {
+
+	private static final int MAX_ENTRIES = 4096;
+
+	private final Long2ObjectLinkedOpenHashMap<Entry> entryMap = new Long2ObjectLinkedOpenHashMap<>();
+	private final World world;
+
+	public TFFeatureCache(World world) {
+		this.world = world;
+	}
+
+	public static final class Entry {
+
+		public final TFFeature feature;
+		public final BlockPos center;
+		public final int centerChunkX, centerChunkZ;
+
+		Entry(TFFeature feature, BlockPos center) {
+			this.feature = feature;
+			this.center = center;
+			this.centerChunkX = center.getX() >> 4;
+			this.centerChunkZ = center.getZ() >> 4;
+		}
+	}
+
+	/**
+	 * Resolves a region without going through any cache.
+	 */
+	public static Entry compute(int regionX, int regionZ, World world) {
+		return new Entry(TFFeature.computeFeatureForRegion(regionX, regionZ, world), TFFeature.getRegionCenter(regionX, regionZ));
+	}
+
+	public Entry getEntry(int regionX, int regionZ) {
+
+		long key = ChunkPos.asLong(regionX, regionZ);
+
+		synchronized (entryMap) {
+			Entry entry = entryMap.getAndMoveToLast(key);
+			if (entry != null) {
+				return entry;
+			}
+		}
+
+		// resolve outside the lock, the biome provider may take a while
+		Entry entry = compute(regionX, regionZ, world);
+
+		synchronized (entryMap) {
+			Entry existing = entryMap.getAndMoveToLast(key);
+			if (existing != null) {
+				return existing;
+			}
+			if (entryMap.size() >= MAX_ENTRIES) {
+				entryMap.removeFirst();
+			}
+			entryMap.putAndMoveToLast(key, entry);
+		}
+
+		return entry;
+	}
+
+	public void clear() {
+		synchronized (entryMap) {
+			entryMap.clear();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package twilightforest.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import twilightforest.TFFeature;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds major features by walking the feature regions outwards from a position. Every region holds at most one
+ * feature at its centre, so this only has to look at one place per 256x256 blocks, rather than asking every chunk in
+ * the area.
+ */
+public final class TFFeatureLocator {
+
+	/**
+	 * How many regions out from the starting one a search will go, a bit more than 32000 blocks
+	 */
+	public static final int MAX_REGION_RADIUS = 128;
+
+	/**
+	 * How many regions out from the starting one are looked up through the world's feature cache. Anything further is
+	 * worked out without it, so a long search doesn't push out the regions chunk generation keeps going back to.
+	 */
+	private static final int SHARED_CACHE_RADIUS = 8;
+
+	private TFFeatureLocator() {}
+
+	/**
+	 * @return The centre of the nearest feature of this type, or null if there isn't one in range
+	 */
+	@Nullable
+	public static BlockPos findNearest(World world, TFFeature feature, BlockPos pos, boolean findUnexplored) {
+		List<BlockPos> found = findNearest(world, feature, pos, 1, MAX_REGION_RADIUS, findUnexplored);
+		return found.isEmpty() ? null : found.get(0);
+	}
+
+	/**
+	 * @return The centres of up to count of the nearest features of this type, nearest first
+	 */
+	public static List<BlockPos> findNearest(World world, TFFeature feature, BlockPos pos, int count, int maxRegionRadius, boolean findUnexplored) {
+		if (feature == TFFeature.NOTHING || !feature.isStructureEnabled || count <= 0) {
+			return Collections.emptyList();
+		}
+
+		int originX = getRegion(pos.getX());
+		int originZ = getRegion(pos.getZ());
+		List<BlockPos> found = new ArrayList<>();
+
+		for (int ring = 0; ring <= maxRegionRadius; ring++) {
+			// nothing further out can beat what we already have
+			if (found.size() >= count && getMinDistanceSq(ring) > getDistanceSq(pos, found.get(count - 1))) {
+				break;
+			}
+
+			for (int dx = -ring; dx <= ring; dx++) {
+				boolean edgeX = dx == -ring || dx == ring;
+				for (int dz = -ring; dz <= ring; dz += edgeX ? 1 : ring * 2) {
+					TFFeatureCache.Entry region = resolveRegion(originX + dx, originZ + dz, ring, world);
+
+					if (region.feature == feature && (!findUnexplored || !world.isChunkGeneratedAt(region.centerChunkX, region.centerChunkZ))) {
+						insertByDistance(found, pos, region.center);
+						if (found.size() > count) {
+							found.remove(count);
+						}
+					}
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * @return Every region with a feature whose centre is within radius blocks of the position, nearest first
+	 */
+	public static List<TFFeatureCache.Entry> findAllWithin(World world, BlockPos pos, int radius) {
+		int originX = getRegion(pos.getX());
+		int originZ = getRegion(pos.getZ());
+		double radiusSq = (double) radius * radius;
+		List<TFFeatureCache.Entry> found = new ArrayList<>();
+
+		for (int ring = 0; ring <= MAX_REGION_RADIUS && getMinDistanceSq(ring) <= radiusSq; ring++) {
+			for (int dx = -ring; dx <= ring; dx++) {
+				boolean edgeX = dx == -ring || dx == ring;
+				for (int dz = -ring; dz <= ring; dz += edgeX ? 1 : ring * 2) {
+					TFFeatureCache.Entry region = resolveRegion(originX + dx, originZ + dz, ring, world);
+
+					if (region.feature != TFFeature.NOTHING && getDistanceSq(pos, region.center) <= radiusSq) {
+						found.add(region);
+					}
+				}
+			}
+		}
+
+		found.sort(Comparator.comparingDouble(region -> getDistanceSq(pos, region.center)));
+		return found;
+	}
+
+	private static TFFeatureCache.Entry resolveRegion(int regionX, int regionZ, int ring, World world) {
+		return ring <= SHARED_CACHE_RADIUS ? TFFeature.getRegion(regionX, regionZ, world) : TFFeatureCache.compute(regionX, regionZ, world);
+	}
+
+	private static int getRegion(int blockCoord) {
+		return ((blockCoord >> 4) + 8) >> 4;
+	}
+
+	/**
+	 * Region centres are within 3 chunks of the middle of their region, so a position can't be closer than this to
+	 * anything in the ring of regions this many out from its own.
+	 */
+	private static double getMinDistanceSq(int ring) {
+		double distance = Math.max(0, ring * 16 - 12) * 16;
+		return distance * distance;
+	}
+
+	private static double getDistanceSq(BlockPos from, BlockPos to) {
+		double dx = to.getX() - from.getX();
+		double dz = to.getZ() - from.getZ();
+		return dx * dx + dz * dz;
+	}
+
+	private static void insertByDistance(List<BlockPos> list, BlockPos from, BlockPos pos) {
+		double distance = getDistanceSq(from, pos);
+		int index = 0;
+		while (index < list.size() && getDistanceSq(from, list.get(index)) <= distance) {
+			index++;
+		}
+		list.add(index, pos);
+	}
+}
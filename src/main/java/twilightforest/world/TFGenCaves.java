@@ -7,6 +7,7 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.MapGenCaves;
 import twilightforest.biomes.TFBiomeHighlands;
@@ -16,6 +17,31 @@ import java.util.Random;
 
 
 public class TFGenCaves extends MapGenCaves {
+
+	private final BlockPos.MutableBlockPos biomePos = new BlockPos.MutableBlockPos();
+	private Biome[] chunkBiomes;
+
+	/**
+	 * Carves caves into the chunk, taking surface blocks from the biomes already worked out for it instead of asking
+	 * the world for each column.
+	 *
+	 * @param biomes the chunk's biomes, indexed x | z << 4
+	 */
+	public void generate(World world, int x, int z, ChunkPrimer primer, Biome[] biomes) {
+		this.chunkBiomes = biomes;
+		try {
+			this.generate(world, x, z, primer);
+		} finally {
+			this.chunkBiomes = null;
+		}
+	}
+
+	private Biome getChunkBiome(int x, int z, int chunkX, int chunkZ) {
+		if (chunkBiomes != null) {
+			return chunkBiomes[x | z << 4];
+		}
+		return this.world.getBiome(biomePos.setPos(x + chunkX * 16, 0, z + chunkZ * 16));
+	}
 	/**
 	 * Generates a larger initial cave node than usual. Called 25% of the time.
 	 *
@@ -181,7 +207,7 @@ public class TFGenCaves extends MapGenCaves {
 												}
 
 												if (hitGrass && blockStorage.getBlockState(genX, caveY - 1, genZ).getBlock() == Blocks.DIRT) {
-													IBlockState blockState = this.world.getBiome(new BlockPos(genX + centerX * 16, 0, genZ + centerZ * 16)).topBlock;
+													IBlockState blockState = getChunkBiome(genX, genZ, centerX, centerZ).topBlock;
 													blockStorage.setBlockState(genX, caveY - 1, genZ, blockState);
 												}
 											}
@@ -203,7 +229,7 @@ public class TFGenCaves extends MapGenCaves {
 	@Override
 	protected void recursiveGenerate(World world, int genX, int genZ, int centerX, int centerZ, ChunkPrimer primer) {
 		int numberOfCaves = this.rand.nextInt(this.rand.nextInt(this.rand.nextInt(40) + 1) + 1);
-		boolean isHighlands = world.getBiome(new BlockPos(genX * 16, 0, genZ * 16)) instanceof TFBiomeHighlands;
+		boolean isHighlands = world.getBiome(biomePos.setPos(genX * 16, 0, genZ * 16)) instanceof TFBiomeHighlands;
 
 		if (this.rand.nextInt(15) != 0) {
 			numberOfCaves = 0;
@@ -19,6 +19,31 @@ public class TFGenRavine extends MapGenBase {
 	protected static final IBlockState AIR = Blocks.AIR.getDefaultState();
 	private final float[] rs = new float[1024];
 
+	private final BlockPos.MutableBlockPos biomePos = new BlockPos.MutableBlockPos();
+	private Biome[] chunkBiomes;
+
+	/**
+	 * Carves ravines into the chunk, taking surface blocks from the biomes already worked out for it instead of asking
+	 * the world for each column.
+	 *
+	 * @param biomes the chunk's biomes, indexed x | z << 4
+	 */
+	public void generate(World world, int x, int z, ChunkPrimer primer, Biome[] biomes) {
+		this.chunkBiomes = biomes;
+		try {
+			this.generate(world, x, z, primer);
+		} finally {
+			this.chunkBiomes = null;
+		}
+	}
+
+	private Biome getChunkBiome(int x, int z, int chunkX, int chunkZ) {
+		if (chunkBiomes != null) {
+			return chunkBiomes[x | z << 4];
+		}
+		return this.world.getBiome(biomePos.setPos(x + chunkX * 16, 0, z + chunkZ * 16));
+	}
+
 	//[VanillaCopy] Based on MapGenRavine.addTunnel, modified for the lowered chunk height of TF.
 	protected void addTunnel(long p_180707_1_, int p_180707_3_, int p_180707_4_, ChunkPrimer p_180707_5_, double p_180707_6_,
 							 double p_180707_8_, double p_180707_10_, float p_180707_12_, float p_180707_13_, float p_180707_14_,
@@ -213,7 +238,7 @@ public class TFGenRavine extends MapGenBase {
 	 * @param foundTop True if we've encountered the biome's top block. Ideally if we've broken the surface.
 	 */
 	protected void digBlock(ChunkPrimer data, int x, int y, int z, int chunkX, int chunkZ, boolean foundTop) {
-		Biome biome = world.getBiome(new BlockPos(x + chunkX * 16, 0, z + chunkZ * 16));
+		Biome biome = getChunkBiome(x, z, chunkX, chunkZ);
 		IBlockState state = data.getBlockState(x, y, z);
 		Block block = state.getBlock();
 		IBlockState top = biome.topBlock;
@@ -0,0 +1,171 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import twilightforest.util.TFOreTable;
+
+/**
+ * Counts the blocks in chunks for the ore meter, and remembers the counts until a block in the chunk changes or the
+ * chunk unloads, so using a meter in an area that has already been counted costs next to nothing.
+ * <p>
+ * The world doesn't send out block changes for chunks that haven't finished populating, so those are counted every
+ * time rather than remembered with ore still to come.
+ */
+public class TFOreCensus {
+
+	private static final int MAX_CHUNKS = 1024;
+
+	private final Long2ObjectMap<Histogram> histograms = new Long2ObjectOpenHashMap<>();
+
+	/**
+	 * How many of each block state a chunk has, by state id. Air isn't counted.
+	 */
+	public static class Histogram {
+		private final Int2IntOpenHashMap counts = new Int2IntOpenHashMap();
+		private final Int2IntOpenHashMap exposedCounts = new Int2IntOpenHashMap();
+
+		public int getCount(IBlockState state) {
+			return counts.get(Block.getStateId(state));
+		}
+
+		/**
+		 * @return How many blocks of any state of the block there are
+		 */
+		public int getCount(Block block) {
+			int count = 0;
+			for (Int2IntMap.Entry entry : counts.int2IntEntrySet()) {
+				if (Block.getStateById(entry.getIntKey()).getBlock() == block) {
+					count += entry.getIntValue();
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * @return How many blocks of the state are next to air. Only ores are checked.
+		 */
+		public int getExposedCount(IBlockState state) {
+			return exposedCounts.get(Block.getStateId(state));
+		}
+	}
+
+	/**
+	 * @return The counts for a chunk, taken from the census if this world has one, or worked out now if it doesn't
+	 */
+	public static Histogram getHistogram(World world, int chunkX, int chunkZ) {
+		TFWorldEventListener listener = TFWorldEventListener.get(world);
+		return listener != null ? listener.oreCensus.get(world, chunkX, chunkZ) : count(world, world.getChunk(chunkX, chunkZ));
+	}
+
+	public Histogram get(World world, int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		Histogram histogram = histograms.get(key);
+		if (histogram == null) {
+			Chunk chunk = world.getChunk(chunkX, chunkZ);
+			histogram = count(world, chunk);
+			if (!chunk.isPopulated()) {
+				return histogram;
+			}
+			if (histograms.size() >= MAX_CHUNKS) {
+				histograms.clear();
+			}
+			histograms.put(key, histogram);
+		}
+		return histogram;
+	}
+
+	private static Histogram count(World world, Chunk chunk) {
+		Histogram histogram = new Histogram();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		int baseX = chunk.x << 4;
+		int baseZ = chunk.z << 4;
+
+		for (ExtendedBlockStorage section : chunk.getBlockStorageArray()) {
+			// missing and empty sections are all air
+			if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) {
+				continue;
+			}
+
+			int baseY = section.getYLocation();
+			IBlockState lastState = null;
+			int lastId = 0;
+			boolean lastIsAir = true;
+			boolean lastIsOre = false;
+
+			for (int y = 0; y < 16; y++) {
+				for (int z = 0; z < 16; z++) {
+					for (int x = 0; x < 16; x++) {
+						IBlockState state = section.get(x, y, z);
+
+						// long runs of the same block are the common case, so skip the lookups for them
+						if (state != lastState) {
+							lastState = state;
+							lastId = Block.getStateId(state);
+							lastIsAir = state.getBlock().isAir(state, world, pos.setPos(baseX + x, baseY + y, baseZ + z));
+							lastIsOre = !lastIsAir && TFOreTable.isOre(state);
+						}
+
+						if (lastIsAir) {
+							continue;
+						}
+
+						histogram.counts.addTo(lastId, 1);
+
+						if (lastIsOre && isExposed(world, chunk, pos.setPos(baseX + x, baseY + y, baseZ + z))) {
+							histogram.exposedCounts.addTo(lastId, 1);
+						}
+					}
+				}
+			}
+		}
+
+		return histogram;
+	}
+
+	private static boolean isExposed(World world, Chunk chunk, BlockPos pos) {
+		for (EnumFacing facing : EnumFacing.VALUES) {
+			BlockPos neighbor = pos.offset(facing);
+			if (neighbor.getX() >> 4 == chunk.x && neighbor.getZ() >> 4 == chunk.z && neighbor.getY() >= 0 && neighbor.getY() < 256) {
+				IBlockState state = chunk.getBlockState(neighbor);
+				if (state.getBlock().isAir(state, world, neighbor)) {
+					return true;
+				}
+			} else if (world.isAirBlock(neighbor)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void onChunkUnloaded(int chunkX, int chunkZ) {
+		if (!histograms.isEmpty()) {
+			histograms.remove(ChunkPos.asLong(chunkX, chunkZ));
+		}
+	}
+
+	public void onBlockChanged(BlockPos pos) {
+		if (histograms.isEmpty()) {
+			return;
+		}
+
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+		histograms.remove(ChunkPos.asLong(chunkX, chunkZ));
+
+		// a change on the edge of a chunk can expose or bury ore in the next one
+		histograms.remove(ChunkPos.asLong((pos.getX() - 1) >> 4, chunkZ));
+		histograms.remove(ChunkPos.asLong((pos.getX() + 1) >> 4, chunkZ));
+		histograms.remove(ChunkPos.asLong(chunkX, (pos.getZ() - 1) >> 4));
+		histograms.remove(ChunkPos.asLong(chunkX, (pos.getZ() + 1) >> 4));
+	}
+}
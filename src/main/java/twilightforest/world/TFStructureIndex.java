@@ -0,0 +1,108 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+import net.minecraft.world.gen.structure.StructureComponent;
+import net.minecraft.world.gen.structure.StructureStart;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Chunk-column grid over the structure starts of a {@link MapGenTFMajorFeature} and the components inside them,
+ * so that looking up what is at a position only has to look at structures overlapping that column instead of
+ * every structure ever generated.
+ * <p>
+ * Starts are only ever added to the structure map, never removed, so the index catches up by picking up any
+ * starts it hasn't seen yet, whether they were just generated or loaded from the saved structure data.
+ */
+public class TFStructureIndex {
+
+	private final LongSet indexedStarts = new LongOpenHashSet();
+	private final Long2ObjectMap<List<StructureStart>> startCells = new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectMap<List<StructureComponent>> componentCells = new Long2ObjectOpenHashMap<>();
+
+	/**
+	 * Index any starts in the structure map that we haven't seen yet
+	 */
+	public void sync(Long2ObjectMap<StructureStart> structureMap) {
+		if (indexedStarts.size() == structureMap.size()) {
+			return;
+		}
+
+		for (Long2ObjectMap.Entry<StructureStart> entry : structureMap.long2ObjectEntrySet()) {
+			if (indexedStarts.add(entry.getLongKey())) {
+				add(entry.getValue());
+			}
+		}
+	}
+
+	private void add(StructureStart start) {
+		if (!start.isSizeableStructure()) {
+			return;
+		}
+
+		addToCells(startCells, start.getBoundingBox(), start);
+
+		for (StructureComponent component : start.getComponents()) {
+			addToCells(componentCells, component.getBoundingBox(), component);
+		}
+	}
+
+	private static <T> void addToCells(Long2ObjectMap<List<T>> cells, StructureBoundingBox sbb, T value) {
+		for (int cx = sbb.minX >> 4; cx <= sbb.maxX >> 4; cx++) {
+			for (int cz = sbb.minZ >> 4; cz <= sbb.maxZ >> 4; cz++) {
+				long key = ChunkPos.asLong(cx, cz);
+				List<T> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>(2);
+					cells.put(key, cell);
+				}
+				cell.add(value);
+			}
+		}
+	}
+
+	/**
+	 * @return Sizeable structure starts whose chunk columns include the specified position. Still check the bounding box.
+	 */
+	public List<StructureStart> getStartsAt(int x, int z) {
+		List<StructureStart> cell = startCells.get(ChunkPos.asLong(x >> 4, z >> 4));
+		return cell != null ? cell : Collections.emptyList();
+	}
+
+	/**
+	 * @return Components of sizeable structures whose chunk columns include the specified position, in the order
+	 * they appear in their structure. Still check the bounding box.
+	 */
+	public List<StructureComponent> getComponentsAt(int x, int z) {
+		List<StructureComponent> cell = componentCells.get(ChunkPos.asLong(x >> 4, z >> 4));
+		return cell != null ? cell : Collections.emptyList();
+	}
+
+	/**
+	 * @return Any sizeable structure start whose bounding box intersects the specified box
+	 */
+	@Nullable
+	public StructureStart getStartIntersecting(StructureBoundingBox sbb) {
+		for (int cx = sbb.minX >> 4; cx <= sbb.maxX >> 4; cx++) {
+			for (int cz = sbb.minZ >> 4; cz <= sbb.maxZ >> 4; cz++) {
+				List<StructureStart> cell = startCells.get(ChunkPos.asLong(cx, cz));
+				if (cell != null) {
+					for (StructureStart start : cell) {
+						if (start.getBoundingBox().intersectsWith(sbb)) {
+							return start;
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,182 @@
+package twilightforest.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.event.entity.EntityTravelToDimensionEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import twilightforest.TFConfig;
+import twilightforest.TwilightForestMod;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Works out terrain noise on background threads for chunks that players look like they're about to need: the chunks
+ * ahead of where they're walking, and the ones around where they'll arrive through a portal.
+ * <p>
+ * Only the noise is done in the background. Everything that reads the biome provider or the world still happens on
+ * the server thread when the chunk is generated, so chunks come out exactly the same whether or not their noise was
+ * ready in advance.
+ */
+@Mod.EventBusSubscriber(modid = TwilightForestMod.ID)
+public class TFTerrainPregenerator {
+
+	private static final int MAX_PENDING = 256;
+	private static final int PREDICT_INTERVAL = 10;
+	private static final int PREDICT_RADIUS = 2;
+	private static final int PORTAL_RADIUS = 4;
+
+	private static ExecutorService executor;
+
+	private static final Map<EntityPlayer, ChunkPos> LAST_PLAYER_CHUNKS = new WeakHashMap<>();
+
+	private final ChunkGeneratorTFBase generator;
+	private final Long2ObjectLinkedOpenHashMap<FutureTask<ChunkGeneratorTFBase.TerrainNoise>> pending = new Long2ObjectLinkedOpenHashMap<>();
+
+	TFTerrainPregenerator(ChunkGeneratorTFBase generator) {
+		this.generator = generator;
+	}
+
+	@Nullable
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null && TFConfig.performance.terrainPregenThreads > 0) {
+			AtomicInteger count = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(TFConfig.performance.terrainPregenThreads, runnable -> {
+				Thread thread = new Thread(runnable, "Twilight Forest Terrain Pregen #" + count.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Starts working out the noise for a chunk in the background. Must be called from the server thread.
+	 */
+	public void request(int chunkX, int chunkZ) {
+		ExecutorService executor = getExecutor();
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		if (executor == null || pending.containsKey(key)) {
+			return;
+		}
+
+		if (pending.size() >= MAX_PENDING) {
+			// forget the oldest request, it was probably a bad guess
+			pending.removeFirst().cancel(false);
+		}
+
+		FutureTask<ChunkGeneratorTFBase.TerrainNoise> task = new FutureTask<>(() -> generator.generateTerrainNoise(new ChunkGeneratorTFBase.TerrainNoise(), chunkX, chunkZ));
+		pending.put(key, task);
+		executor.execute(task);
+	}
+
+	/**
+	 * @return The noise for the chunk if it was requested, or null if it has to be worked out now. Must be called from
+	 * the server thread.
+	 */
+	@Nullable
+	ChunkGeneratorTFBase.TerrainNoise take(int chunkX, int chunkZ) {
+		if (pending.isEmpty()) {
+			return null;
+		}
+
+		FutureTask<ChunkGeneratorTFBase.TerrainNoise> task = pending.remove(ChunkPos.asLong(chunkX, chunkZ));
+		if (task == null) {
+			return null;
+		}
+
+		// if no worker has started on it yet, do it here rather than wait for one
+		task.run();
+
+		try {
+			return task.isCancelled() ? null : task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			TwilightForestMod.LOGGER.warn("Could not work out terrain noise for chunk {}, {} in advance", chunkX, chunkZ, e.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * Requests every chunk in the square around the chunk that hasn't been generated yet
+	 */
+	private void requestAround(ChunkProviderServer chunkProvider, int chunkX, int chunkZ, int radius) {
+		for (int cx = chunkX - radius; cx <= chunkX + radius; cx++) {
+			for (int cz = chunkZ - radius; cz <= chunkZ + radius; cz++) {
+				if (!chunkProvider.isChunkGeneratedAt(cx, cz)) {
+					request(cx, cz);
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private static TFTerrainPregenerator get(WorldServer world) {
+		ChunkProviderServer chunkProvider = world.getChunkProvider();
+		if (chunkProvider.chunkGenerator instanceof ChunkGeneratorTFBase) {
+			return ((ChunkGeneratorTFBase) chunkProvider.chunkGenerator).getTerrainPregenerator();
+		}
+		return null;
+	}
+
+	@SubscribeEvent
+	public static void playerTick(TickEvent.PlayerTickEvent event) {
+		EntityPlayer player = event.player;
+		if (event.phase != TickEvent.Phase.END || !(player instanceof EntityPlayerMP) || player.ticksExisted % PREDICT_INTERVAL != 0) {
+			return;
+		}
+
+		WorldServer world = (WorldServer) player.world;
+		TFTerrainPregenerator pregenerator = get(world);
+		if (pregenerator == null || getExecutor() == null) {
+			return;
+		}
+
+		ChunkPos chunk = new ChunkPos(player.chunkCoordX, player.chunkCoordZ);
+		ChunkPos lastChunk = LAST_PLAYER_CHUNKS.put(player, chunk);
+		if (lastChunk == null || lastChunk.equals(chunk)) {
+			return;
+		}
+
+		// look just past the edge of the view distance, in the direction the player has been going
+		int dx = chunk.x - lastChunk.x;
+		int dz = chunk.z - lastChunk.z;
+		float length = MathHelper.sqrt(dx * dx + dz * dz);
+		int ahead = world.getMinecraftServer().getPlayerList().getViewDistance() + PREDICT_RADIUS;
+
+		int targetX = chunk.x + MathHelper.floor(dx / length * ahead + 0.5F);
+		int targetZ = chunk.z + MathHelper.floor(dz / length * ahead + 0.5F);
+		pregenerator.requestAround(world.getChunkProvider(), targetX, targetZ, PREDICT_RADIUS);
+	}
+
+	@SubscribeEvent
+	public static void entityTravelToDimension(EntityTravelToDimensionEvent event) {
+		if (!(event.getEntity() instanceof EntityPlayerMP) || getExecutor() == null) {
+			return;
+		}
+
+		WorldServer world = DimensionManager.getWorld(event.getDimension());
+		TFTerrainPregenerator pregenerator = world != null ? get(world) : null;
+		if (pregenerator != null) {
+			// portals keep the same coordinates between dimensions
+			pregenerator.requestAround(world.getChunkProvider(), event.getEntity().chunkCoordX, event.getEntity().chunkCoordZ, PORTAL_RADIUS);
+		}
+	}
+}
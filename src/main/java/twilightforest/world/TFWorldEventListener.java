@@ -0,0 +1,99 @@
+package twilightforest.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import twilightforest.TFMazeMapColumnCache;
+import twilightforest.entity.ai.TFFlocks;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Listens to block and entity changes in server worlds, so the mod's per-world caches can drop what a change made
+ * stale instead of polling the world for it.
+ */
+public class TFWorldEventListener implements IWorldEventListener {
+
+	private static final Map<World, TFWorldEventListener> LISTENERS = new WeakHashMap<>();
+
+	public final TFMazeMapColumnCache mazeMapColumns = new TFMazeMapColumnCache();
+	public final TFBlockWatchers blockWatchers = new TFBlockWatchers();
+	public final TFOreCensus oreCensus = new TFOreCensus();
+	public final TFFlocks flocks = new TFFlocks();
+
+	public static void register(World world) {
+		if (!LISTENERS.containsKey(world)) {
+			TFWorldEventListener listener = new TFWorldEventListener();
+			LISTENERS.put(world, listener);
+			world.addEventListener(listener);
+		}
+	}
+
+	public static void unregister(World world) {
+		TFWorldEventListener listener = LISTENERS.remove(world);
+		if (listener != null) {
+			world.removeEventListener(listener);
+		}
+	}
+
+	/**
+	 * @return The listener for this world, or null if it isn't being listened to, such as on the client
+	 */
+	@Nullable
+	public static TFWorldEventListener get(World world) {
+		return LISTENERS.get(world);
+	}
+
+	@Override
+	public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+		if (oldState != newState) {
+			mazeMapColumns.onBlockChanged(pos);
+			blockWatchers.onBlockChanged(pos);
+			oreCensus.onBlockChanged(pos);
+		}
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos) {}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {}
+
+	@Override
+	public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+
+	@Override
+	public void playRecord(SoundEvent sound, BlockPos pos) {}
+
+	@Override
+	public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+	@Override
+	public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+	@Override
+	public void onEntityAdded(Entity entity) {
+		flocks.onEntityAdded(entity);
+	}
+
+	@Override
+	public void onEntityRemoved(Entity entity) {
+		flocks.onEntityRemoved(entity);
+	}
+
+	@Override
+	public void broadcastSound(int soundID, BlockPos pos, int data) {}
+
+	@Override
+	public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {}
+
+	@Override
+	public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+}
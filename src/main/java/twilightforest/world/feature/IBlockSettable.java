@@ -4,6 +4,8 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
+
 // Shim interface to expose the WorldGenerator's setBlock method
 // Mainly so TFGenerator's util methods don't have to be duplicated between the TFGenerator subclasses and the
 // tree generators
@@ -12,4 +14,13 @@ public interface IBlockSettable {
 	// [VanillaCopy] pin to signature of WorldGenerator.setBlockAndNotifyAdequately
 	// But cannot have exact same name as the subclass methods will get reobf-ed but the interface one won't
 	void setBlockAndNotify(World world, BlockPos pos, IBlockState state);
+
+	/**
+	 * Looks at what's in a spot before building over it. Null means leave the spot alone, which a generator writing
+	 * through a {@link TFDeferredBlockWriter} gets for chunks that aren't loaded, rather than the world loading them.
+	 */
+	@Nullable
+	default IBlockState getBlockState(World world, BlockPos pos) {
+		return world.getBlockState(pos);
+	}
 }
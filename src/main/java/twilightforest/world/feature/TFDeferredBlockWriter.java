@@ -0,0 +1,163 @@
+package twilightforest.world.feature;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Sets blocks for generators during chunk population, holding back the light checks and update notifications that
+ * world.setBlockState does for each one. Blocks go into their chunk straight away, so generators reading the world
+ * back see what they've already placed, and the changes are remembered per chunk until {@link #flush()}. A block set
+ * several times over, like a leaf a branch later grows through, is only relit and sent out once, as it ended up, and
+ * relighting happens against the finished tree instead of as each piece goes in.
+ * <p>
+ * Blocks that would land in a chunk that isn't loaded are dropped, and {@link #getBlockState} answers null for them,
+ * rather than loading or generating that chunk.
+ */
+public class TFDeferredBlockWriter implements IBlockSettable {
+
+	private static final Map<World, TFDeferredBlockWriter> ACTIVE = new WeakHashMap<>();
+
+	private final World world;
+	@Nullable
+	private final TFDeferredBlockWriter parent;
+
+	/**
+	 * For each chunk, what each changed block was before, keyed by its index within the chunk
+	 */
+	private final Long2ObjectLinkedOpenHashMap<Int2ObjectMap<IBlockState>> changes = new Long2ObjectLinkedOpenHashMap<>();
+
+	private TFDeferredBlockWriter(World world, @Nullable TFDeferredBlockWriter parent) {
+		this.world = world;
+		this.parent = parent;
+	}
+
+	/**
+	 * Starts deferring block updates from generators that opt in for this world. Population can cascade into other
+	 * chunks, so writers nest, and every begin must be matched by a {@link #flush()}.
+	 */
+	public static TFDeferredBlockWriter begin(World world) {
+		TFDeferredBlockWriter writer = new TFDeferredBlockWriter(world, ACTIVE.get(world));
+		ACTIVE.put(world, writer);
+		return writer;
+	}
+
+	/**
+	 * @return The writer being used for this world right now, or null if blocks should be set normally
+	 */
+	@Nullable
+	public static TFDeferredBlockWriter getActive(World world) {
+		return ACTIVE.get(world);
+	}
+
+	/**
+	 * @return What's in the spot, or null if its chunk isn't loaded, so the generator skips it rather than reading the
+	 * world and loading or generating that chunk before the write is dropped anyway
+	 */
+	@Override
+	@Nullable
+	public IBlockState getBlockState(World world, BlockPos pos) {
+		if (world != this.world || world.isOutsideBuildHeight(pos)) {
+			return world.getBlockState(pos);
+		}
+
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4);
+		return chunk != null ? chunk.getBlockState(pos) : null;
+	}
+
+	@Override
+	public void setBlockAndNotify(World world, BlockPos pos, IBlockState state) {
+		if (world != this.world || world.isOutsideBuildHeight(pos)) {
+			return;
+		}
+
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4);
+		if (chunk == null) {
+			return;
+		}
+
+		IBlockState oldState = chunk.getBlockState(pos);
+		if (oldState == state) {
+			return;
+		}
+
+		// tile entities need the full treatment
+		if (oldState.getBlock().hasTileEntity(oldState) || state.getBlock().hasTileEntity(state)) {
+			world.setBlockState(pos, state, 2 | 16);
+			return;
+		}
+
+		if (chunk.setBlockState(pos, state) == null) {
+			return;
+		}
+
+		long key = ChunkPos.asLong(chunk.x, chunk.z);
+		Int2ObjectMap<IBlockState> chunkChanges = changes.get(key);
+		if (chunkChanges == null) {
+			chunkChanges = new Int2ObjectLinkedOpenHashMap<>();
+			changes.put(key, chunkChanges);
+		}
+
+		int index = (pos.getY() << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+		if (!chunkChanges.containsKey(index)) {
+			chunkChanges.put(index, oldState);
+		}
+	}
+
+	/**
+	 * Stops deferring, then relights and announces everything set since {@link #begin(World)}. Any block that lets
+	 * through or gives off a different amount of light than what it replaced still gets its own sky and block light
+	 * check, as the chunk was already lit before population started and the world has nothing cheaper that's safe.
+	 */
+	public void flush() {
+		if (parent != null) {
+			ACTIVE.put(world, parent);
+		} else {
+			ACTIVE.remove(world);
+		}
+
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		for (Long2ObjectMap.Entry<Int2ObjectMap<IBlockState>> entry : changes.long2ObjectEntrySet()) {
+			int chunkX = (int) entry.getLongKey();
+			int chunkZ = (int) (entry.getLongKey() >>> 32);
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+			if (chunk == null) {
+				continue;
+			}
+
+			for (Int2ObjectMap.Entry<IBlockState> change : entry.getValue().int2ObjectEntrySet()) {
+				int index = change.getIntKey();
+				pos.setPos((chunkX << 4) + (index & 15), index >> 8, (chunkZ << 4) + ((index >> 4) & 15));
+
+				IBlockState oldState = change.getValue();
+				IBlockState newState = chunk.getBlockState(pos);
+				if (oldState == newState) {
+					continue;
+				}
+
+				// the same relight world.setBlockState would have done, now that everything is in place
+				if (oldState.getLightOpacity(world, pos) != newState.getLightOpacity(world, pos)
+						|| oldState.getLightValue(world, pos) != newState.getLightValue(world, pos)) {
+					world.checkLight(pos);
+				}
+
+				world.notifyBlockUpdate(pos, oldState, newState, 2);
+			}
+
+			chunk.markDirty();
+		}
+
+		changes.clear();
+	}
+}
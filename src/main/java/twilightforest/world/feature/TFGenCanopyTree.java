@@ -43,6 +43,11 @@ public class TFGenCanopyTree extends TFTreeGenerator {
 		rootState = TFBlocks.root.getDefaultState();
 	}
 
+	@Override
+	protected boolean canDeferBlocks() {
+		return true;
+	}
+
 	@Override
 	public boolean generate(World world, Random random, BlockPos pos) {
 		// determine a height
@@ -37,6 +37,11 @@ public class TFGenHollowTree extends TFGenerator {
 		super(notify);
 	}
 
+	@Override
+	protected boolean canDeferBlocks() {
+		return true;
+	}
+
 	public static boolean canGrowInto(Block blockType) {
 		Material material = blockType.getDefaultState().getMaterial();
 		return material == Material.AIR || material == Material.LEAVES || material == Material.WATER || material == Material.LAVA || blockType instanceof IGrowable || blockType instanceof BlockDirt || blockType instanceof BlockLog || blockType instanceof BlockBush || blockType instanceof BlockVine;
@@ -44,7 +49,8 @@ public class TFGenHollowTree extends TFGenerator {
 
 	@Override
 	protected void setBlockAndNotifyAdequately(World worldIn, BlockPos pos, IBlockState state) {
-		if (canGrowInto(worldIn.getBlockState(pos).getBlock()))
+		IBlockState whatsThere = getBlockState(worldIn, pos);
+		if (whatsThere != null && canGrowInto(whatsThere.getBlock()))
 			super.setBlockAndNotifyAdequately(worldIn, pos, state);
 	}
 
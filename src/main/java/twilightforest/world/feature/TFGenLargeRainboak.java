@@ -70,6 +70,11 @@ public class TFGenLargeRainboak extends TFTreeGenerator {
 		this(false);
 	}
 
+	@Override
+	protected boolean canDeferBlocks() {
+		return true;
+	}
+
 	/**
 	 * Generates a list of leaf nodes for the tree, to be populated by generateLeaves.
 	 */
@@ -164,10 +169,9 @@ public class TFGenLargeRainboak extends TFTreeGenerator {
 				} else {
 					var11[var9] = var10[var9] + var13;
 					final BlockPos pos = new BlockPos(var11[0], var11[1], var11[2]);
-					IBlockState var14 = this.world.getBlockState(pos);
+					IBlockState var14 = this.getBlockState(this.world, pos);
 
-					final Block block = var14.getBlock();
-					if (block != Blocks.AIR && !block.canBeReplacedByLeaves(var14, this.world, pos)) {
+					if (var14 == null || var14.getBlock() != Blocks.AIR && !var14.getBlock().canBeReplacedByLeaves(var14, this.world, pos)) {
 						++var13;
 					} else {
 						this.setBlockAndNotifyAdequately(this.world, pos, leaves);
@@ -379,10 +383,10 @@ public class TFGenLargeRainboak extends TFTreeGenerator {
 				var13[var5] = par1ArrayOfInteger[var5] + var14;
 				var13[var6] = MathHelper.floor((double) par1ArrayOfInteger[var6] + (double) var14 * var9);
 				var13[var7] = MathHelper.floor((double) par1ArrayOfInteger[var7] + (double) var14 * var11);
-				IBlockState var16 = this.world.getBlockState(new BlockPos(var13[0], var13[1], var13[2]));
-				final Block block = var16.getBlock();
+				IBlockState var16 = this.getBlockState(this.world, new BlockPos(var13[0], var13[1], var13[2]));
 
-				if (block != Blocks.AIR && block != Blocks.LEAVES) {
+				// a line running into a chunk that isn't there yet counts as blocked
+				if (var16 == null || var16.getBlock() != Blocks.AIR && var16.getBlock() != Blocks.LEAVES) {
 					break;
 				}
 			}
@@ -36,9 +36,15 @@ public class TFGenMangroveTree extends TFTreeGenerator {
 		rootState = TFBlocks.root.getDefaultState();
 	}
 
+	@Override
+	protected boolean canDeferBlocks() {
+		return true;
+	}
+
 	@Override
 	protected void setBlockAndNotifyAdequately(World worldIn, BlockPos pos, IBlockState state) {
-		if (canGrowInto(worldIn.getBlockState(pos).getBlock()))
+		IBlockState whatsThere = getBlockState(worldIn, pos);
+		if (whatsThere != null && canGrowInto(whatsThere.getBlock()))
 			super.setBlockAndNotifyAdequately(worldIn, pos, state);
 	}
 
@@ -9,17 +9,44 @@ import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.feature.WorldGenerator;
 
+import javax.annotation.Nullable;
 import java.util.Random;
 
 
 public abstract class TFGenerator extends WorldGenerator implements IBlockSettable {
 
+	private final boolean notify;
+
 	public TFGenerator() {
 		this(false);
 	}
 
 	public TFGenerator(boolean notify) {
 		super(notify);
+		this.notify = notify;
+	}
+
+	/**
+	 * Generators that are happy for their blocks to skip light checks and update notifications until the chunk has
+	 * finished populating can return true here, see {@link TFDeferredBlockWriter}
+	 */
+	protected boolean canDeferBlocks() {
+		return false;
+	}
+
+	@Nullable
+	private TFDeferredBlockWriter getDeferredWriter(World world) {
+		return !notify && canDeferBlocks() ? TFDeferredBlockWriter.getActive(world) : null;
+	}
+
+	@Override
+	protected void setBlockAndNotifyAdequately(World world, BlockPos pos, IBlockState state) {
+		TFDeferredBlockWriter writer = getDeferredWriter(world);
+		if (writer != null) {
+			writer.setBlockAndNotify(world, pos, state);
+		} else {
+			super.setBlockAndNotifyAdequately(world, pos, state);
+		}
 	}
 
 	@Override
@@ -27,6 +54,13 @@ public abstract class TFGenerator extends WorldGenerator implements IBlockSettab
 		setBlockAndNotifyAdequately(worldIn, pos, state);
 	}
 
+	@Override
+	@Nullable
+	public IBlockState getBlockState(World worldIn, BlockPos pos) {
+		TFDeferredBlockWriter writer = getDeferredWriter(worldIn);
+		return writer != null ? writer.getBlockState(worldIn, pos) : worldIn.getBlockState(pos);
+	}
+
 	/**
 	 * Moves distance along the vector.
 	 * <p>
@@ -199,9 +233,9 @@ public abstract class TFGenerator extends WorldGenerator implements IBlockSettab
 	 * Put a leaf only in spots where leaves can go!
 	 */
 	public static void putLeafBlock(IBlockSettable generator, World world, BlockPos pos, IBlockState state) {
-		IBlockState whatsThere = world.getBlockState(pos);
+		IBlockState whatsThere = generator.getBlockState(world, pos);
 
-		if (whatsThere.getBlock().canBeReplacedByLeaves(whatsThere, world, pos) && whatsThere.getBlock() != state.getBlock()) {
+		if (whatsThere != null && whatsThere.getBlock().canBeReplacedByLeaves(whatsThere, world, pos) && whatsThere.getBlock() != state.getBlock()) {
 			generator.setBlockAndNotify(world, pos, state);
 		}
 	}
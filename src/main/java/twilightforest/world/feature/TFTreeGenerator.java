@@ -16,6 +16,8 @@ import twilightforest.block.TFBlocks;
 import twilightforest.enums.HedgeVariant;
 import twilightforest.enums.WoodVariant;
 
+import javax.annotation.Nullable;
+
 public abstract class TFTreeGenerator extends WorldGenAbstractTree implements IBlockSettable {
 
 	protected IBlockState treeState = TFBlocks.twilight_log.getDefaultState();
@@ -25,12 +27,37 @@ public abstract class TFTreeGenerator extends WorldGenAbstractTree implements IB
 
 	protected IPlantable source = TFBlocks.twilight_sapling;
 
+	private final boolean notify;
+
 	public TFTreeGenerator() {
 		this(false);
 	}
 
 	public TFTreeGenerator(boolean notify) {
 		super(notify);
+		this.notify = notify;
+	}
+
+	/**
+	 * @see TFGenerator#canDeferBlocks()
+	 */
+	protected boolean canDeferBlocks() {
+		return false;
+	}
+
+	@Nullable
+	private TFDeferredBlockWriter getDeferredWriter(World world) {
+		return !notify && canDeferBlocks() ? TFDeferredBlockWriter.getActive(world) : null;
+	}
+
+	@Override
+	protected void setBlockAndNotifyAdequately(World world, BlockPos pos, IBlockState state) {
+		TFDeferredBlockWriter writer = getDeferredWriter(world);
+		if (writer != null) {
+			writer.setBlockAndNotify(world, pos, state);
+		} else {
+			super.setBlockAndNotifyAdequately(world, pos, state);
+		}
 	}
 
 	@Override
@@ -38,6 +65,13 @@ public abstract class TFTreeGenerator extends WorldGenAbstractTree implements IB
 		setBlockAndNotifyAdequately(world, pos, state);
 	}
 
+	@Override
+	@Nullable
+	public IBlockState getBlockState(World world, BlockPos pos) {
+		TFDeferredBlockWriter writer = getDeferredWriter(world);
+		return writer != null ? writer.getBlockState(world, pos) : world.getBlockState(pos);
+	}
+
 	@Override
 	protected boolean canGrowInto(Block blockType) {
 		return TFGenHollowTree.canGrowInto(blockType);
@@ -60,13 +94,17 @@ public abstract class TFTreeGenerator extends WorldGenAbstractTree implements IB
 	 * Function used to actually place root blocks if they're not going to break anything important
 	 */
 	protected void placeRootBlock(World world, BlockPos pos, IBlockState state) {
-		if (canRootGrowIn(world, pos)) {
+		IBlockState whatsThere = getBlockState(world, pos);
+		if (whatsThere != null && canRootGrowIn(world, pos, whatsThere)) {
 			this.setBlockAndNotifyAdequately(world, pos, state);
 		}
 	}
 
 	public static boolean canRootGrowIn(World world, BlockPos pos) {
-		IBlockState blockState = world.getBlockState(pos);
+		return canRootGrowIn(world, pos, world.getBlockState(pos));
+	}
+
+	public static boolean canRootGrowIn(World world, BlockPos pos, IBlockState blockState) {
 		Block blockID = blockState.getBlock();
 
 		if (blockID.isAir(blockState, world, pos)) {